@@ -0,0 +1,9 @@
+package Game;
+
+//Inputs which can be sent to the game engine, either by the player or by the
+//timers of the game. The ordinal of each command is used as its opcode, so new
+//commands must only be added at the end.
+public enum Command {
+    LEFT, RIGHT, DOWN, ROTATE_CW, ROTATE_CCW, ROTATE_180, HARD_DROP, HOLD,
+    LEVEL_UP, UNDO
+}
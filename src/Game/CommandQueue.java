@@ -0,0 +1,80 @@
+//----------------------------COMMAND QUEUE CLASS-----------------------------//
+//@author Titanjack
+//@project Tetris
+//The Command Queue class stores the commands received by the game engine until
+//the next logic tick, where they are all applied as one batch. Commands are
+//kept as opcodes in a ring buffer which grows when it is full, so queueing a
+//command never allocates in the common case.
+
+package Game;
+
+@SuppressWarnings({"WeakerAccess"})
+public class CommandQueue {
+
+    private static final Command[] commands = Command.values();
+
+    private int[] opcodes;
+    private int head;
+    private int size;
+
+    public CommandQueue() {
+        opcodes = new int[64];
+        head = 0;
+        size = 0;
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public void add(Command command)
+    //public Command poll()
+    //public void clear()
+    //public int size()
+    //public boolean isEmpty()
+
+    //Function: Add
+    //@param command        the command to be added to the back of the queue
+    public void add(Command command) {
+
+        if (size == opcodes.length) {
+            //Unroll the ring into a buffer twice the size
+            int[] grown = new int[opcodes.length * 2];
+            for (int i = 0; i < size; i++)
+                grown[i] = opcodes[(head + i) & (opcodes.length - 1)];
+            opcodes = grown;
+            head = 0;
+        }
+        opcodes[(head + size) & (opcodes.length - 1)] = command.ordinal();
+        size++;
+    }
+
+    //Function: Poll
+    //@return               the command at the front of the queue, or null if
+    //                      the queue is empty
+    public Command poll() {
+
+        if (size == 0) return null;
+        int opcode = opcodes[head];
+        head = (head + 1) & (opcodes.length - 1);
+        size--;
+        return commands[opcode];
+    }
+
+    //Function: Clear
+    //Removes all commands from the queue
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    //Function: Size
+    //@return               the number of commands waiting in the queue
+    public int size() {
+        return size;
+    }
+
+    //Function: Is Empty
+    //@return               whether there are no commands waiting
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
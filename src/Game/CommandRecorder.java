@@ -0,0 +1,21 @@
+//-------------------------COMMAND RECORDER INTERFACE-------------------------//
+//@author Titanjack
+//@project Tetris
+//An interface for anything that needs to see every command the game engine
+//applies on a tick, such as a replay being written. Together with the seed of
+//the game, the recorded commands are enough to play the whole game again.
+
+package Game;
+
+public interface CommandRecorder {
+
+    //Function: Command Applied
+    //@param tick           the tick the command was applied on
+    //       command        the command which was applied, whether or not it
+    //                      changed the game
+    void commandApplied(long tick, Command command);
+
+    //Function: Tick Finished
+    //@param tick           the tick whose commands have all been applied
+    void tickFinished(long tick);
+}
@@ -0,0 +1,90 @@
+//---------------------------DUAL BAG RANDOMIZER CLASS------------------------//
+//@author Titanjack
+//@project Tetris
+//The Dual Bag Randomizer class is the original randomizer of the game. Two
+//arrays containing the list of pieces are shuffled, and the pieces are then
+//picked between each of the arrays one at a time. When both arrays run out
+//they are shuffled again in place.
+
+package Game;
+
+import Util.SplitMix;
+
+@SuppressWarnings({"WeakerAccess"})
+public class DualBagRandomizer implements Randomizer {
+
+    private static final PieceType[] pieceTypes = PieceType.values();
+
+    private SplitMix random;
+    private int[][] randPieces;
+    private int counter;
+    private int currentRow;
+
+    public DualBagRandomizer(long seed) {
+
+        random = new SplitMix(seed);
+        randPieces = new int[2][pieceTypes.length];
+        for (int[] bag : randPieces) {
+            for (int i = 0; i < bag.length; i++)
+                bag[i] = i;
+            random.shuffle(bag);
+        }
+        counter = 0;
+        currentRow = 0;
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public PieceType next()
+    //public int saveState(long[] state)
+    //public void loadState(long[] state)
+
+    //Function: Next
+    //@return               the next piece within the shuffled arrays
+    //Goes back and forth between the two shuffled arrays to retrieve the next
+    //piece within each array. When the end of array is reached, both arrays
+    //are shuffled again
+    public PieceType next() {
+
+        int randSelection = randPieces[currentRow][counter];
+        currentRow = currentRow == 0 ? 1 : 0;
+
+        if (currentRow == 1) {
+            counter++;
+            if (counter == pieceTypes.length) {
+                random.shuffle(randPieces[0]);
+                random.shuffle(randPieces[1]);
+                counter = 0;
+            }
+        }
+        return pieceTypes[randSelection];
+    }
+
+    //Function: Save State
+    //@param state          the array the state is written to, from index 0
+    //@return               the number of values written
+    public int saveState(long[] state) {
+
+        int size = 0;
+        state[size++] = random.getState();
+        state[size++] = counter;
+        state[size++] = currentRow;
+        for (int[] bag : randPieces)
+            for (int piece : bag)
+                state[size++] = piece;
+        return size;
+    }
+
+    //Function: Load State
+    //@param state          an array written by save state
+    public void loadState(long[] state) {
+
+        int size = 0;
+        random.setState(state[size++]);
+        counter = (int) state[size++];
+        currentRow = (int) state[size++];
+        for (int[] bag : randPieces)
+            for (int i = 0; i < bag.length; i++)
+                bag[i] = (int) state[size++];
+    }
+}
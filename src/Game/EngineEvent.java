@@ -0,0 +1,8 @@
+package Game;
+
+//Changes reported by the game engine to its listener. When several changes
+//happen within one tick, only the last one in this list is reported.
+public enum EngineEvent {
+    RESET, PIECE_MOVED, PIECE_LOCKED, LEVEL_UP, PIECE_SPAWNED,
+    SNAPSHOT_LOADED, GAME_OVER
+}
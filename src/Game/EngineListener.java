@@ -0,0 +1,12 @@
+//---------------------------ENGINE LISTENER INTERFACE------------------------//
+//@author Titanjack
+//@project Tetris
+//An interface for anything that needs to know when the state of a game engine
+//has changed, such as the game window which redraws the grid in response
+
+package Game;
+
+public interface EngineListener {
+
+    void engineUpdated(GameEngine engine, EngineEvent event);
+}
@@ -0,0 +1,765 @@
+//-----------------------------GAME ENGINE CLASS------------------------------//
+//@author Titanjack
+//@project Tetris
+//The Game Engine class holds all the rules of a single game of tetris. It owns
+//the grid of locked blocks, the active piece and the queue of next pieces, and
+//keeps track of the score and level. The engine has no user interface of its
+//own, so any number of games can be run side by side without a window. Every
+//change that needs to be redrawn is reported to the engine listener.
+//Commands can either be applied directly or queued and applied together on
+//the next tick, in which case the landing position is worked out and the
+//listener is told about the changes only once for the whole batch. Commands
+//applied on a tick are also passed to the command recorder, if there is one.
+//When undo is turned on, a snapshot is taken each time a piece is spawned so
+//the game can be rewound one piece at a time.
+//Time in the game is counted only in ticks, sixty to a second. Gravity, the
+//delay before a new piece starts falling, the delay before a resting piece
+//locks and the level ups are all counters advanced by the tick, so a game
+//plays out the same no matter how late the ticks arrive.
+
+package Game;
+
+import Grid.BitGrid;
+import Grid.PieceMask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class GameEngine {
+
+    public static final int MAX_LEVEL = 15;
+    //Changes whenever a change to the rules would make old replays play out
+    //differently
+    public static final int RULES_VERSION = 2;
+    public static final int TICKS_PER_SECOND = 60;
+    //A new piece hangs at the top for half a second before it starts falling
+    public static final int SPAWN_DELAY = 30;
+    //A piece resting on the stack locks after half a second
+    public static final int LOCK_DELAY = 30;
+    //The level goes up once a minute
+    public static final int LEVEL_INTERVAL = 3600;
+    //Pieces fall one row a second at the first level, and 60 milliseconds
+    //faster at every level after that
+    private static final int GRAVITY_START_MS = 1000;
+    private static final int GRAVITY_STEP_MS = 60;
+
+    private int rows;
+    private int cols;
+    private int score;
+    private int level;
+    private int linesCleared;
+    private int piecesPlaced;
+    private int ghostRow;
+    private int gravityCounter;
+    private int lockCounter;
+    private int spawnCounter;
+    private long tick;
+    private long seed;
+    private int previewDepth;
+    private int undoDepth;
+    private boolean ghostValid;
+    private boolean canHold;
+    private boolean gameOver;
+    private boolean inBatch;
+    private EngineEvent pendingEvent;
+
+    private BitGrid board;
+    private TetrominoQueue queue;
+    private RandomizerType randomizerType;
+    private Tetromino currentPiece;
+    private PieceType heldPiece;
+    private CommandQueue commands;
+    private EngineListener listener;
+    private CommandRecorder recorder;
+    private PlacementFinder placementFinder;
+    private SnapshotRing undoRing;
+
+    public GameEngine(int rows, int cols) {
+
+        this.rows = rows;
+        this.cols = cols;
+        board = new BitGrid(rows, cols);
+        randomizerType = RandomizerType.DUAL_BAG;
+        previewDepth = TetrominoQueue.DEFAULT_DEPTH;
+        undoDepth = 0;
+        commands = new CommandQueue();
+        reset();
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public void reset()
+    //public void newGame()
+    //public void newGame(long seed)
+    //public void queueCommand(Command command)
+    //public void tick()
+    //public void apply(Command command)
+    //public boolean moveLeft()
+    //public boolean moveRight()
+    //public boolean moveDown()
+    //public boolean rotate(int turns)
+    //public void drop()
+    //public boolean hold()
+    //public List<Placement> findPlacements()
+    //public void saveSnapshot(GameSnapshot snapshot)
+    //public void loadSnapshot(GameSnapshot snapshot)
+    //public boolean undo()
+    //public void levelUp()
+    //private boolean shiftPiece(int colShift)
+    //private void lockPiece()
+    //private void spawnPiece(Tetromino piece)
+    //private void restoreSnapshot(GameSnapshot snapshot)
+    //private void updateGhost()
+    //private void advanceTimers()
+
+    //Function: Reset
+    //Removes all blocks and the active piece and sets the score and level back
+    //to their starting values
+    public void reset() {
+
+        board.clearAll();
+        queue = null;
+        currentPiece = null;
+        heldPiece = null;
+        canHold = true;
+        commands.clear();
+        tick = 0;
+        score = 0;
+        level = 1;
+        linesCleared = 0;
+        piecesPlaced = 0;
+        gravityCounter = 0;
+        lockCounter = 0;
+        spawnCounter = 0;
+        gameOver = false;
+        notifyListener(EngineEvent.RESET);
+    }
+
+    //Function: New Game
+    //Resets the game and spawns the first piece from a new queue
+    public void newGame() {
+        newGame(System.nanoTime());
+    }
+
+    //Function: New Game
+    //@param seed           the seed of the piece queue
+    //Resets the game and spawns the first piece from a new queue, where games
+    //started with the same seed are dealt the same pieces
+    public void newGame(long seed) {
+
+        reset();
+        this.seed = seed;
+        queue = new TetrominoQueue(randomizerType, seed, previewDepth);
+        spawnPiece(queue.nextPiece());
+        if (undoRing != null) {
+            undoRing.clear();
+            undoRing.push(this);
+        }
+    }
+
+    //Function: Queue Command
+    //@param command        the command to be applied on the next tick
+    public void queueCommand(Command command) {
+        commands.add(command);
+    }
+
+    //Function: Tick
+    //Advances the game by one logic tick, applying every command received since
+    //the last tick as a single batch and then advancing the timers. The
+    //listener is told about the batch once, after all the changes have been
+    //made.
+    public void tick() {
+
+        tick++;
+        inBatch = true;
+        Command command = commands.poll();
+        while (command != null) {
+            if (recorder != null) recorder.commandApplied(tick, command);
+            apply(command);
+            command = commands.poll();
+        }
+        advanceTimers();
+        inBatch = false;
+        if (recorder != null) recorder.tickFinished(tick);
+        if (pendingEvent != null) {
+            EngineEvent event = pendingEvent;
+            pendingEvent = null;
+            notifyListener(event);
+        }
+    }
+
+    //Function: Apply
+    //@param command        the command to be applied
+    //Applies a single command to the game straight away
+    public void apply(Command command) {
+
+        switch (command) {
+            case LEFT: moveLeft();
+                break;
+            case RIGHT: moveRight();
+                break;
+            case DOWN: moveDown();
+                break;
+            case ROTATE_CW: rotate(1);
+                break;
+            case ROTATE_CCW: rotate(3);
+                break;
+            case ROTATE_180: rotate(2);
+                break;
+            case HARD_DROP: drop();
+                break;
+            case HOLD: hold();
+                break;
+            case LEVEL_UP: levelUp();
+                break;
+            case UNDO: undo();
+                break;
+        }
+    }
+
+    //Function: Move Left
+    //@return               whether the piece was able to move
+    public boolean moveLeft() {
+        return shiftPiece(-1);
+    }
+
+    //Function: Move Right
+    //@return               whether the piece was able to move
+    public boolean moveRight() {
+        return shiftPiece(1);
+    }
+
+    //Function: Move Down
+    //@return               whether the piece has hit something on the way down
+    //                      and has been locked into the grid
+    public boolean moveDown() {
+
+        if (!isPieceActive()) return false;
+        currentPiece.simulateMove(1, 0);
+        if (isOverlapping(currentPiece)) {
+            //If piece hits something on the way down, it means it has fallen
+            //and is now inactive blocks
+            currentPiece.resetSimulation();
+            lockPiece();
+            return true;
+        }
+        currentPiece.applySimulation();
+        notifyListener(EngineEvent.PIECE_MOVED);
+        return false;
+    }
+
+    //Function: Rotate
+    //@param turns          the number of clockwise quarter turns, where 2 is a
+    //                      half turn and 3 is a single counter-clockwise turn
+    //@return               whether the piece was able to rotate
+    //Performs a rotation (if possible) on the active piece. The positions in
+    //the kick table are tried in order and the first free one is used.
+    public boolean rotate(int turns) {
+
+        if (!isPieceActive()) return false;
+        turns &= 3;
+        PieceType pieceType = currentPiece.getType();
+        int orientation = currentPiece.getOrientation();
+        int test = KickTable.findKick(board, pieceType, orientation, turns,
+                currentPiece.getRow(), currentPiece.getCol());
+        if (test < 0) return false;
+
+        currentPiece.rotate(turns);
+        currentPiece.move(KickTable.getRowShift(pieceType, orientation, turns,
+                test), KickTable.getColShift(pieceType, orientation, turns,
+                test));
+        ghostValid = false;
+        notifyListener(EngineEvent.PIECE_MOVED);
+        return true;
+    }
+
+    //Function: Drop
+    //Instantaneously makes the active piece hit the ground and locks it
+    public void drop() {
+
+        if (!isPieceActive()) return;
+        currentPiece.setPosition(getGhostRow(), currentPiece.getCol());
+        lockPiece();
+    }
+
+    //Function: Hold
+    //@return               whether the piece could be held
+    //Puts the active piece aside and brings in the piece that was held before,
+    //or the next piece in the queue if nothing was held. A piece can only be
+    //held once before it is locked.
+    public boolean hold() {
+
+        if (!isPieceActive() || !canHold) return false;
+        PieceType swapPiece = heldPiece;
+        heldPiece = currentPiece.getType();
+        canHold = false;
+        spawnPiece(swapPiece == null ? queue.nextPiece() :
+                new Tetromino(swapPiece));
+        return true;
+    }
+
+    //Function: Find Placements
+    //@return               every position the active piece can reach and be
+    //                      locked in, each with the commands that take it
+    //                      there from its current position
+    public List<Placement> findPlacements() {
+
+        if (!isPieceActive()) return new ArrayList<>();
+        if (placementFinder == null)
+            placementFinder = new PlacementFinder(rows, cols);
+        return placementFinder.findPlacements(board, currentPiece.getType(),
+                currentPiece.getRow(), currentPiece.getCol(),
+                currentPiece.getOrientation());
+    }
+
+    //Function: Save Snapshot
+    //@param snapshot       the snapshot the state of the game is written to,
+    //                      which must have the same board size as the engine
+    public void saveSnapshot(GameSnapshot snapshot) {
+
+        board.saveRows(snapshot.rowBits, snapshot.colors);
+        snapshot.tick = tick;
+        snapshot.seed = seed;
+        snapshot.score = score;
+        snapshot.level = level;
+        snapshot.linesCleared = linesCleared;
+        snapshot.piecesPlaced = piecesPlaced;
+        snapshot.gravityCounter = gravityCounter;
+        snapshot.lockCounter = lockCounter;
+        snapshot.spawnCounter = spawnCounter;
+        snapshot.canHold = canHold;
+        snapshot.gameOver = gameOver;
+        snapshot.heldPiece = heldPiece == null ? GameSnapshot.NO_PIECE :
+                heldPiece.ordinal();
+        snapshot.pieceType = currentPiece == null ? GameSnapshot.NO_PIECE :
+                currentPiece.getType().ordinal();
+        if (currentPiece != null) {
+            snapshot.pieceRow = currentPiece.getRow();
+            snapshot.pieceCol = currentPiece.getCol();
+            snapshot.pieceOrientation = currentPiece.getOrientation();
+        }
+        if (queue != null) {
+            queue.saveState(snapshot);
+        } else {
+            snapshot.randomizerType = randomizerType.ordinal();
+            snapshot.previewSize = 0;
+            snapshot.randomizerStateSize = 0;
+        }
+    }
+
+    //Function: Load Snapshot
+    //@param snapshot       a snapshot of a game with the same board size
+    //Puts the game back into the state it was in when the snapshot was taken,
+    //including the tick. Any commands waiting for the next tick are thrown
+    //away.
+    public void loadSnapshot(GameSnapshot snapshot) {
+
+        commands.clear();
+        tick = snapshot.tick;
+        restoreSnapshot(snapshot);
+        if (undoRing != null) {
+            undoRing.clear();
+            undoRing.push(this);
+        }
+    }
+
+    //Function: Undo
+    //@return               whether there was anything to rewind to
+    //Rewinds the game to when the piece before the active one was spawned,
+    //as far back as the undo depth allows. At the oldest snapshot the active
+    //piece is started over instead. The tick keeps counting forward, so an
+    //undo can be recorded like any other command.
+    public boolean undo() {
+
+        if (undoRing == null || undoRing.size() == 0) return false;
+        //The newest snapshot is the spawn of the active piece
+        if (undoRing.size() > 1) undoRing.pop();
+        restoreSnapshot(undoRing.peek(0));
+        return true;
+    }
+
+    //Function: Level Up
+    //Increases the game level until the maximum level is reached
+    public void levelUp() {
+
+        if (level < MAX_LEVEL) {
+            level++;
+            notifyListener(EngineEvent.LEVEL_UP);
+        }
+    }
+
+    //Function: Shift Piece
+    //@param colShift       the number of columns to move, negative for left
+    //@return               whether the piece was able to move
+    //Translates the active piece sideways if nothing is in the way
+    private boolean shiftPiece(int colShift) {
+
+        if (!isPieceActive()) return false;
+        //Make a virtual move to see whether the result position will overlap
+        //any inactive blocks or if it will be out of bounds of the grid
+        currentPiece.simulateMove(0, colShift);
+        if (isOverlapping(currentPiece)) {
+            currentPiece.resetSimulation();
+            return false;
+        }
+        currentPiece.applySimulation();
+        ghostValid = false;
+        notifyListener(EngineEvent.PIECE_MOVED);
+        return true;
+    }
+
+    //Function: Lock Piece
+    //Turns the active piece into inactive blocks, clears any full rows and
+    //brings in the next piece
+    private void lockPiece() {
+
+        PieceMask mask = currentPiece.getMask();
+        int pieceRow = currentPiece.getRow();
+        board.place(mask, pieceRow, currentPiece.getCol(),
+                currentPiece.getPaletteIndex());
+        piecesPlaced++;
+        //Only the rows covered by the piece can have been filled
+        int numOfRowsCleared = board.clearFullRows(pieceRow +
+                mask.getMinRow(), pieceRow + mask.getMaxRow());
+        linesCleared += numOfRowsCleared;
+
+        //Apply scoring according to how many rows are cleared
+        int rowScore;
+        switch (numOfRowsCleared) {
+            case 0: rowScore = 0;
+                break;
+            case 1: rowScore = 40;
+                break;
+            case 2: rowScore = 100;
+                break;
+            case 3: rowScore = 300;
+                break;
+            default: rowScore = 1200;
+                break;
+        }
+        score += rowScore * level;
+        canHold = true;
+        notifyListener(EngineEvent.PIECE_LOCKED);
+        spawnPiece(queue.nextPiece());
+        if (undoRing != null) undoRing.push(this);
+    }
+
+    //Function: Spawn Piece
+    //@param piece          the piece to be brought into the game
+    //Places a new active piece at the top of the grid. The game is over if the
+    //new piece overlaps existing blocks.
+    private void spawnPiece(Tetromino piece) {
+
+        currentPiece = piece;
+        currentPiece.setPosition(1, cols / 2 - 1);
+        ghostValid = false;
+        gravityCounter = 0;
+        lockCounter = 0;
+        spawnCounter = SPAWN_DELAY;
+        if (isOverlapping(currentPiece)) {
+            gameOver = true;
+            notifyListener(EngineEvent.GAME_OVER);
+        } else {
+            notifyListener(EngineEvent.PIECE_SPAWNED);
+        }
+    }
+
+    //Function: Restore Snapshot
+    //@param snapshot       a snapshot of a game with the same board size
+    //Copies everything but the tick out of the snapshot. The board is copied
+    //back row by row and the piece queue is only created again if its type or
+    //depth has changed.
+    private void restoreSnapshot(GameSnapshot snapshot) {
+
+        PieceType[] pieceTypes = PieceType.values();
+        board.loadRows(snapshot.rowBits, snapshot.colors);
+        seed = snapshot.seed;
+        score = snapshot.score;
+        level = snapshot.level;
+        linesCleared = snapshot.linesCleared;
+        piecesPlaced = snapshot.piecesPlaced;
+        gravityCounter = snapshot.gravityCounter;
+        lockCounter = snapshot.lockCounter;
+        spawnCounter = snapshot.spawnCounter;
+        canHold = snapshot.canHold;
+        gameOver = snapshot.gameOver;
+        heldPiece = snapshot.heldPiece == GameSnapshot.NO_PIECE ? null :
+                pieceTypes[snapshot.heldPiece];
+        currentPiece = snapshot.pieceType == GameSnapshot.NO_PIECE ? null :
+                new Tetromino(snapshot.pieceRow, snapshot.pieceCol,
+                        snapshot.pieceOrientation,
+                        pieceTypes[snapshot.pieceType]);
+        randomizerType = RandomizerType.values()[snapshot.randomizerType];
+        if (snapshot.previewSize == 0) {
+            queue = null;
+        } else {
+            if (queue == null || queue.size() != snapshot.previewSize ||
+                    queue.getRandomizerType() != randomizerType)
+                queue = new TetrominoQueue(randomizerType, seed,
+                        snapshot.previewSize);
+            queue.loadState(snapshot);
+        }
+        ghostValid = false;
+        notifyListener(gameOver ? EngineEvent.GAME_OVER :
+                EngineEvent.SNAPSHOT_LOADED);
+    }
+
+    //Function: Update Ghost
+    //Finds the row where the active piece would land if it were dropped at
+    //that instant
+    private void updateGhost() {
+
+        ghostRow = currentPiece.getRow();
+        if (!gameOver)
+            ghostRow = board.getLandingRow(currentPiece.getMask(), ghostRow,
+                    currentPiece.getCol());
+        ghostValid = true;
+    }
+
+    //Function: Advance Timers
+    //Moves the game on by one tick of time. The level goes up every level
+    //interval. Once the spawn delay is over, the active piece falls a row
+    //whenever the gravity counter runs out, and locks once it has been resting
+    //on the stack for the lock delay. Falling again resets the lock delay.
+    private void advanceTimers() {
+
+        if (!isPieceActive()) return;
+        if (tick % LEVEL_INTERVAL == 0) levelUp();
+        if (spawnCounter > 0) {
+            spawnCounter--;
+            return;
+        }
+        if (!ghostValid) updateGhost();
+        if (ghostRow == currentPiece.getRow()) {
+            gravityCounter = 0;
+            if (++lockCounter >= LOCK_DELAY) lockPiece();
+        } else {
+            lockCounter = 0;
+            if (++gravityCounter >= getGravityInterval()) {
+                gravityCounter = 0;
+                moveDown();
+            }
+        }
+    }
+
+    //----------------------------ASSIST FUNCTION-----------------------------//
+    //Function: Is Overlapping
+    //@param piece              the tetris piece at its current (or simulated)
+    //                          position
+    //@return                   whether the blocks in the tetris piece are
+    //                          overlapping existing blocks or are out of bounds
+    private boolean isOverlapping(Tetromino piece) {
+        return board.collides(piece.getMask(), piece.getRow(), piece.getCol());
+    }
+
+    //Function: Notify Listener
+    //@param event              the change that has happened to the game
+    //Tells the listener about a change, or holds on to it until the end of the
+    //tick if a batch of commands is being applied
+    private void notifyListener(EngineEvent event) {
+        if (inBatch) {
+            if (pendingEvent == null || event.compareTo(pendingEvent) > 0)
+                pendingEvent = event;
+        } else if (listener != null) {
+            listener.engineUpdated(this, event);
+        }
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public void setListener(EngineListener listener)
+    //public void setRecorder(CommandRecorder recorder)
+    //public void setRandomizerType(RandomizerType randomizerType)
+    //public RandomizerType getRandomizerType()
+    //public void setPreviewDepth(int previewDepth)
+    //public void setUndoDepth(int undoDepth)
+    //public int getUndoDepth()
+    //public GameSnapshot getUndoSnapshot(int piecesBack)
+    //public long getSeed()
+    //public boolean isPieceActive()
+    //public boolean isGameOver()
+    //public BitGrid getBoard()
+    //public Tetromino getCurrentPiece()
+    //public PieceType getHeldPiece()
+    //public PiecePreview getPreview()
+    //public int getQueuedCommands()
+    //public long getTick()
+    //public int getGhostRow()
+    //public int getGravityInterval()
+    //public int getScore()
+    //public int getLevel()
+    //public int getLinesCleared()
+    //public int getPiecesPlaced()
+    //public int getRows()
+    //public int getCols()
+
+    //Function: Set Listener
+    //@param listener       the object to be told about changes to the game
+    public void setListener(EngineListener listener) {
+        this.listener = listener;
+    }
+
+    //Function: Set Recorder
+    //@param recorder       the object to be given every command applied on a
+    //                      tick, or null to stop recording
+    public void setRecorder(CommandRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    //Function: Set Randomizer Type
+    //@param randomizerType the scheme used to pick the order of the pieces,
+    //                      which takes effect from the next new game
+    public void setRandomizerType(RandomizerType randomizerType) {
+        this.randomizerType = randomizerType;
+    }
+
+    //Function: Get Randomizer Type
+    //@return               the scheme used to pick the order of the pieces
+    public RandomizerType getRandomizerType() {
+        return randomizerType;
+    }
+
+    //Function: Set Preview Depth
+    //@param previewDepth   the number of upcoming pieces which can be seen,
+    //                      from 1 to 7, which takes effect from the next new
+    //                      game
+    public void setPreviewDepth(int previewDepth) {
+        this.previewDepth = Math.max(TetrominoQueue.MIN_DEPTH,
+                Math.min(previewDepth, TetrominoQueue.MAX_DEPTH));
+    }
+
+    //Function: Set Undo Depth
+    //@param undoDepth      the number of pieces the game can be rewound by,
+    //                      or 0 to turn undo off, which takes effect from the
+    //                      next new game
+    public void setUndoDepth(int undoDepth) {
+
+        this.undoDepth = Math.max(0, undoDepth);
+        //The snapshots are created once here, not on every new game
+        undoRing = this.undoDepth == 0 ? null : new SnapshotRing(
+                this.undoDepth + 1, rows, cols);
+    }
+
+    //Function: Get Undo Depth
+    //@return               the number of pieces the game can be rewound by
+    public int getUndoDepth() {
+        return undoDepth;
+    }
+
+    //Function: Get Undo Snapshot
+    //@param piecesBack     how many pieces back, 0 being the spawn of the
+    //                      active piece
+    //@return               the snapshot, or null if undo does not go back that
+    //                      far. It can be loaded into another engine to branch
+    //                      the game, but is overwritten as the game goes on.
+    public GameSnapshot getUndoSnapshot(int piecesBack) {
+        return undoRing == null ? null : undoRing.peek(piecesBack);
+    }
+
+    //Function: Get Seed
+    //@return               the seed the current game was started with
+    public long getSeed() {
+        return seed;
+    }
+
+    //Function: Is Piece Active
+    //@return               whether there is a piece that can be controlled
+    public boolean isPieceActive() {
+        return currentPiece != null && !gameOver;
+    }
+
+    //Function: Is Game Over
+    //@return               whether the last piece could not be spawned
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    //Function: Get Board
+    //@return               the grid of locked blocks
+    public BitGrid getBoard() {
+        return board;
+    }
+
+    //Function: Get Current Piece
+    //@return               the active piece, or null if no game has started
+    public Tetromino getCurrentPiece() {
+        return currentPiece;
+    }
+
+    //Function: Get Held Piece
+    //@return               the shape of the piece being held, or null
+    public PieceType getHeldPiece() {
+        return heldPiece;
+    }
+
+    //Function: Get Preview
+    //@return               a read only view of the upcoming pieces, or null
+    //                      if no game has started
+    public PiecePreview getPreview() {
+        return queue;
+    }
+
+    //Function: Get Queued Commands
+    //@return               the number of commands waiting for the next tick
+    public int getQueuedCommands() {
+        return commands.size();
+    }
+
+    //Function: Get Tick
+    //@return               the number of logic ticks since the game started
+    public long getTick() {
+        return tick;
+    }
+
+    //Function: Get Ghost Row
+    //@return               the row the active piece would land on if dropped
+    public int getGhostRow() {
+        if (!ghostValid) updateGhost();
+        return ghostRow;
+    }
+
+    //Function: Get Gravity Interval
+    //@return               the number of ticks between each row the active
+    //                      piece falls at the current level
+    public int getGravityInterval() {
+        return Math.max(1, (GRAVITY_START_MS - GRAVITY_STEP_MS * (level - 1)) *
+                TICKS_PER_SECOND / 1000);
+    }
+
+    //Function: Get Score
+    //@return               the current game score
+    public int getScore() {
+        return score;
+    }
+
+    //Function: Get Level
+    //@return               the current level of the player
+    public int getLevel() {
+        return level;
+    }
+
+    //Function: Get Lines Cleared
+    //@return               the total number of rows cleared in this game
+    public int getLinesCleared() {
+        return linesCleared;
+    }
+
+    //Function: Get Pieces Placed
+    //@return               the total number of pieces locked in this game
+    public int getPiecesPlaced() {
+        return piecesPlaced;
+    }
+
+    //Function: Get Rows
+    //@return               the number of rows in the grid
+    public int getRows() {
+        return rows;
+    }
+
+    //Function: Get Cols
+    //@return               the number of columns in the grid
+    public int getCols() {
+        return cols;
+    }
+}
@@ -2,23 +2,32 @@
 //@author Titanjack
 //@project Tetris
 //The game manager class is composed of two components being the game section
-//and the score / info board section. The game manager is responsible for
-//controlling the movements of Tetris pieces within the game grid while also
-//helping to update info such as score and next pieces.
+//and the score / info board section. The game manager relays the player's
+//moves to the game engine, which holds the rules of the game, and redraws the
+//game grid and info board whenever the engine reports a change.
 
 package Game;
 
+import Grid.BitGrid;
+import Grid.DamageTracker;
 import Grid.GameGrid;
 import Pages.AboutScreen;
 import Pages.DisclaimerScreen;
 import Pages.HelpScreen;
 import Pages.OptionsScreen;
+import Style.Theme;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 
 @SuppressWarnings({"WeakerAccess", "SpellCheckingInspection", "unused"})
-public class GameManager extends JPanel {
+public class GameManager extends JPanel implements EngineListener {
+
+    //The number of pieces the player can take back with undo
+    public static final int UNDO_DEPTH = 32;
+    private static final int GAME_OVER_WIDTH = 300;
+    private static final int GAME_OVER_HEIGHT = 200;
 
     private int rows;
     private int cols;
@@ -29,54 +38,65 @@ public class GameManager extends JPanel {
     private boolean debug;
     private int renderCycle;
 
+    private GameEngine engine;
     private GameGrid grid;
     private DisclaimerScreen disclaimerScreen;
     private OptionsScreen optionsScreen;
     private HelpScreen helpScreen;
     private AboutScreen aboutScreen;
     private InfoBoard infoBoard;
-
-    private Tetromino currentPiece;
-    private Tetromino projectedPiece;
-    private TetrominoQueue nextPieces;
+    private RenderLoop renderLoop;
+    private DamageTracker damageTracker;
+    private PerformanceOverlay performanceOverlay;
+    private BufferedImage gameOverLayer;
+    private Theme gameOverTheme;
 
     public GameManager(double width, double height, double posX, double posY,
                        double cellSize, int rows, int cols) {
 
-        //The game grid must be of a minimum size
+        //The game grid must be of a minimum size, and each row of the bit
+        //grid can hold a limited number of columns
         if (rows < 6) {
             rows = 6;
         }
         if (cols < 6) {
             cols = 6;
         }
+        if (cols > BitGrid.MAX_COLS) {
+            cols = BitGrid.MAX_COLS;
+        }
         this.rows = rows;
         this.cols = cols;
         this.posX = posX;
         this.posY = posY;
         this.width = width;
         this.height = height;
+        engine = new GameEngine(rows, cols);
+        engine.setUndoDepth(UNDO_DEPTH);
         grid = new GameGrid(posX, posY, width - 500, height,
                 cellSize, rows, cols);
+        damageTracker = new DamageTracker();
+        grid.setBoard(engine.getBoard());
+        grid.setDamageTracker(damageTracker);
         disclaimerScreen = new DisclaimerScreen(posX, posY, width, height);
         optionsScreen = new OptionsScreen(posX, posY, width - 500, height);
         helpScreen = new HelpScreen(posX, posY, width - 500, height);
         aboutScreen = new AboutScreen(posX, posY, width - 500, height);
-        infoBoard = new InfoBoard(width - 500, posY, 400, height);
+        infoBoard = new InfoBoard(engine, width - 500, posY, 400, height);
+        performanceOverlay = new PerformanceOverlay(posX + 10, posY + 10);
         renderCycle = 0;
         debug = false;
+        engine.setListener(this);
     }
 
     //-----------------------------CORE FUNCTIONS-----------------------------//
     //FUNCTION LIST:
     //public void updateGame()
-    //public boolean movePiece(String direction)
-    //public void rotatePiece()
-    //public void dropPiece()
-    //private boolean setTetromino(Game.PieceType pieceType,
-    //                                Color pieceColor)
-    //private int clearFullRows()
-    //private void displayProjection()
+    //public void sendCommand(Command command)
+    //public void tick()
+    //public void engineUpdated(GameEngine engine, EngineEvent event)
+    //private void displayEngine()
+    //private void flushDamage()
 
     //Function: Update Game
     //Upon call, makes modofications to the objects in the game depending
@@ -84,272 +104,102 @@ public class GameManager extends JPanel {
     public void updateGame() {
         switch (TetrisGame.getGameState()) {
             case INGAME:
-                //Make sure grid is visible and that there is always an active
-                //tetromino piece on the grid
-                if (grid.showGridBlocks()) repaint();
-                if (currentPiece == null) {
-                    setTetromino(nextPieces.nextPiece(infoBoard));
-                }
+                //Make sure grid is visible
+                if (grid.showGridBlocks()) requestRender();
                 break;
             case NEWGAME:
                 //Reset everything and go to the ingame state
-                grid.clearAllGridCells();
-                nextPieces = new TetrominoQueue();
                 TetrisGame.startGame();
-                currentPiece = null;
+                engine.newGame();
                 TetrisGame.setGameState(GameState.INGAME);
-                repaint();
+                requestRender();
                 break;
             case PAUSED:
                 //Make sure grid is hidden
-                if (grid.hideGridBlocks()) repaint();
+                if (grid.hideGridBlocks()) requestRender();
                 break;
         }
     }
 
-    //Function: Move Piece
-    //@param direction      which way on the grid the piece will move
-    //                      options: {down, left, right, up}
-    //@return               whether the tetris piece has hit something
-    //Translates the tetris piece in a specified direction along the grid
-    public void movePiece(String direction) {
+    //Function: Send Command
+    //@param command        the player input to be applied to the game
+    //Queues a command for the game engine. Every command sent before the next
+    //tick is applied as one batch.
+    public void sendCommand(Command command) {
 
         updateGame();
-        if (TetrisGame.getGameState().equals(GameState.INGAME)) {
-            //Make a virtual move to see whether the result position will over-
-            //lap any inactive blocks or if it will be out of bounds of the
-            //grid
-            currentPiece.simulateMove(direction);
-            int[][] pieceCoords = currentPiece.getCoords();
-            //Check for collision for each individual block for the tetris piece
-            boolean hitObstacle = isOverlapping(pieceCoords);
-            //Revert position back to before the simulated move
-            currentPiece.resetSimulation();
-            pieceCoords = currentPiece.getCoords();
-
-            for (int[] coord : pieceCoords) {
-                int row = coord[0], col = coord[1];
-                //If piece hits something on the way down, it means it has
-                //fallen and is now inactive blocks
-                if (hitObstacle && direction.equals("down"))
-                    grid.setInactive(row, col, currentPiece.getColor());
-                if (!hitObstacle) grid.setEmpty(row, col);
-            }
-            if (hitObstacle && direction.equals("down")) {
-                TetrisGame.addToScore(clearFullRows());
-                boolean lose = setTetromino(nextPieces.nextPiece(infoBoard));
-                if (lose) TetrisGame.setGameState(GameState.GAMEOVER);
-            }
-            if (!hitObstacle) {
-                currentPiece.move(direction);
-                pieceCoords = currentPiece.getCoords();
-                //Setting previous coords to empty (above) and setting new
-                //coords to active will move the piece on the grid
-                for (int[] coord : pieceCoords)
-                    grid.setActive(coord[0], coord[1], currentPiece.getColor());
-            }
-            repaint();
-            if (!direction.equals("down")) displayProjection();
-        }
+        if (TetrisGame.getGameState().equals(GameState.INGAME))
+            engine.queueCommand(command);
     }
 
-    //Function: Rotate Piece
-    //Performs a clockwise rotation (if possible) on the active piece in the
-    //grid
-    public void rotatePiece() {
-
-        updateGame();
+    //Function: Tick
+    //Advances the game engine by one tick, applying the commands which have
+    //been queued since the last tick. Time stands still while the game is not
+    //being played.
+    public void tick() {
         if (TetrisGame.getGameState().equals(GameState.INGAME)) {
-            int[][] originalCoords = currentPiece.getCoords();
-            int originalRow = currentPiece.getRow();
-            int originalCol = currentPiece.getCol();
-            currentPiece.simulateRotate();
-
-            int rowIndex = 0, colIndex;
-            boolean fitIn = false;
-            int[][] pieceCoords = null;
-
-            //Checks a 5 by 5 area around the tetris piece to see if there are
-            //any places it could fit in. The search starts from the center and
-            //goes outwards.
-            while (!fitIn && rowIndex <= 2) {
-                colIndex = 0;
-                while (!fitIn && colIndex <= 2) {
-                    currentPiece.setSimulatedPosition(originalRow +
-                            rowIndex, originalCol + colIndex);
-                    pieceCoords = currentPiece.getCoords();
-                    if (!isOverlapping(pieceCoords)) fitIn = true;
-                    if (colIndex > 0) colIndex = -colIndex;
-                    else colIndex = -colIndex + 1;
-                }
-                if (rowIndex > 0) rowIndex = -rowIndex;
-                else rowIndex = -rowIndex + 1;
-            }
-
-            if (fitIn) {
-                for (int[] coord : originalCoords)
-                    grid.setEmpty(coord[0], coord[1]);
-                for (int[] coord: pieceCoords)
-                    grid.setActive(coord[0], coord[1], currentPiece.getColor());
-                currentPiece.applySimulation();
-                displayProjection();
-                repaint();
-            } else {
-                currentPiece.resetSimulation();
-            }
+            long tickStart = System.nanoTime();
+            int queuedCommands = engine.getQueuedCommands();
+            engine.tick();
+            performanceOverlay.recordTick(System.nanoTime() - tickStart,
+                    queuedCommands);
         }
     }
 
-    //Function: Drop Piece
-    //Instantenously make the active piece hit the ground
-    public void dropPiece() {
-
-        updateGame();
-        if (projectedPiece != null && TetrisGame.getGameState().equals
-                (GameState.INGAME)) {
-            //Moves the current piece to the projected piece by setting the
-            //current piece as the projected piece
-            int[][] pieceCoords = currentPiece.getCoords();
-            for (int[] coord: pieceCoords)
-                grid.setEmpty(coord[0], coord[1]);
-            currentPiece = projectedPiece;
-            pieceCoords = currentPiece.getCoords();
-            for (int[] coord: pieceCoords)
-                grid.setActive(coord[0], coord[1], currentPiece.getColor());
-            movePiece("down");
-            repaint();
-        }
-    }
-
-    //Function: Set Tetromino
-    //@param pieceType      the shape of the new piece
-    //       pieceColor     the corresponding color of the piece
-    //@return               whether the new piece is overlapping existing
-    //                      inactive blocks
-    //Adds a new active dropping piece to the game grid, controllable by the
-    //user.
-    private boolean setTetromino(Tetromino tetromino) {
-
-        int center = (cols / 2 - 1);
-        currentPiece = tetromino;
-        currentPiece.setPosition(1, center);
-        int[][] pieceCoords = currentPiece.getCoords();
-        boolean blocked = false;
-        for (int[] coord : pieceCoords) {
-            int row = coord[0], col = coord[1];
-            //Check for existing inactive blocks that are in the way
-            blocked = blocked || grid.isInactive(row, col);
-            if (!grid.isInactive(row, col))
-                grid.setActive(row, col, tetromino.getColor());
-        }
-        repaint();
-        displayProjection();
-        TetrisGame.initiateBuffer();
-        return blocked;
-    }
-
-    //Function: Clear Full Rows
-    //@return               the resultant score from clearning the full rows
-    private int clearFullRows() {
-
-        int numOfRowsCleared = 0;
-        for (int row = 0; row < rows; row++) {
-            boolean isFull = true;
-            for (int col = 0; col < cols; col++)
-                isFull = isFull && grid.isInactive(row, col);
-            if (isFull) {
-                numOfRowsCleared++;
-                //For all the rows before the full row, shuffle down any
-                //inactive blocks to fill up the cleared row
-                for (int prevRow = row - 1; prevRow >= 0; prevRow--) {
-                    for (int col = 0; col < cols; col++) {
-                        grid.setEmpty(prevRow + 1, col);
-                        if (grid.isInactive(prevRow, col)) {
-                            grid.setInactive(prevRow + 1, col,
-                                    grid.getColor(prevRow, col));
-                            grid.setEmpty(prevRow, col);
-                        }
-                    }
-                }
-            }
-        }
+    //Function: Engine Updated
+    //@param engine         the game engine which has changed
+    //       event          what has changed in the game
+    //Reacts to changes in the game and redraws the grid
+    @Override
+    public void engineUpdated(GameEngine engine, EngineEvent event) {
 
-        //Apply scoring according to how many rows are cleared
-        int score;
-        switch (numOfRowsCleared) {
-            case 0: score = 0;
-                break;
-            case 1: score = 40;
-                break;
-            case 2: score = 100;
-                break;
-            case 3: score = 300;
-                break;
-            default: score = 1200;
+        switch (event) {
+            case GAME_OVER:
+                TetrisGame.setGameState(GameState.GAMEOVER);
                 break;
         }
-        return score * TetrisGame.getGameLevel();
+        //Only the cells and info which have changed are repainted
+        displayEngine();
+        infoBoard.updateDamage(damageTracker);
+        flushDamage();
     }
 
-    //Function: Display Projection
-    //Shows a highlight of where the active block will land be if dropped at
-    //that instant
-    private void displayProjection() {
-
-        int[][] pieceCoords;
-        if (projectedPiece != null) {
-            //Remove the previous projection from the grid cells
-            pieceCoords = projectedPiece.getCoords();
-            for (int[] coord: pieceCoords) {
-                int row = coord[0], col = coord[1];
-                if (grid.isHighlighted(row, col))
-                    grid.setEmpty(row, col);
+    //Function: Display Engine
+    //Copies the locked blocks, the active piece and the highlight of where the
+    //active piece will land onto the game grid
+    private void displayEngine() {
+
+        grid.syncBoard();
+        Tetromino currentPiece = engine.getCurrentPiece();
+        if (currentPiece == null) return;
+
+        int colorIndex = currentPiece.getPaletteIndex();
+        if (!engine.isGameOver()) {
+            //Show a highlight of where the active block will land if dropped
+            int dropDistance = engine.getGhostRow() - currentPiece.getRow();
+            for (int i = 0; i < PieceShapes.CELLS; i++) {
+                int row = currentPiece.getCellRow(i) + dropDistance;
+                int col = currentPiece.getCellCol(i);
+                if (grid.isEmpty(row, col))
+                    grid.setHighlighted(row, col, colorIndex);
             }
         }
-
-        //Acquire a copy of the current piece
-        projectedPiece = new Tetromino(currentPiece.getRow(),
-                currentPiece.getCol(), currentPiece.getOrientation(),
-                currentPiece.getType(), currentPiece.getColor());
-
-        //Move the projection to the ground
-        boolean hitObstacle = false;
-        do {
-            projectedPiece.move("down");
-            pieceCoords = projectedPiece.getCoords();
-            for (int[] coord : pieceCoords) {
-                int row = coord[0], col = coord[1];
-                hitObstacle = hitObstacle || row == rows ||
-                        grid.isInactive(row, col);
-            }
-        } while(!hitObstacle);
-        projectedPiece.move("up");
-        pieceCoords = projectedPiece.getCoords();
-        //Set cells at the location of the projected piece to highlighted mode
-        for (int[] coord: pieceCoords) {
-            int row = coord[0], col = coord[1];
-            if (grid.isEmpty(row, col))
-                grid.setHighlighted(coord[0], coord[1], projectedPiece.
-                        getColor());
+        for (int i = 0; i < PieceShapes.CELLS; i++) {
+            int row = currentPiece.getCellRow(i);
+            int col = currentPiece.getCellCol(i);
+            if (!grid.isInactive(row, col))
+                grid.setActive(row, col, colorIndex);
         }
-        repaint();
     }
 
-    //----------------------------ASSIST FUNCTION-----------------------------//
-    //Function: Is Overlapping
-    //@param pieceCoords        coordinates of all the blocks in the tetris
-    //                          piece
-    //@return                   whether the blocks in the tetris piece are
-    //                          overlapping existing blocks
-    private boolean isOverlapping(int[][] pieceCoords) {
-        boolean overlapping = false;
-        //Check for collision for each individual block for the tetris piece
-        for (int[] coord : pieceCoords) {
-            int row = coord[0], col = coord[1];
-            overlapping = overlapping || row >= rows || col < 0 ||
-                    col >= cols || grid.isInactive(row, col);
-        }
-        return overlapping;
+    //Function: Flush Damage
+    //Without a render loop, hands the changed areas to Swing to be repainted
+    private void flushDamage() {
+
+        if (renderLoop != null || damageTracker.isEmpty()) return;
+        if (damageTracker.isFull()) repaint();
+        else repaint(damageTracker.getBounds());
+        damageTracker.clear();
     }
 
     //-----------------------------MISC FUNCTIONS-----------------------------//
@@ -358,9 +208,17 @@ public class GameManager extends JPanel {
     //public void mouseAction(double posX, double posY, double offsetX,
     //                            double offsetY, MouseAction action)
     //public void resetGrid()
+    //public GameEngine getEngine()
+    //public void setRenderLoop(RenderLoop renderLoop)
+    //public void togglePerformanceOverlay()
+    //public void requestRender()
+    //public void requestRender(double posX, double posY, double width,
+    //                          double height)
+    //public DamageTracker getDamageTracker()
     //public void setDimensions(double posX, double posY, double width,
     //                               double height)
     //public void setDimensions(double width, double height)
+    //private BufferedImage getGameOverLayer()
     //public void paint(Graphics g)
     //public String toString()
 
@@ -390,7 +248,58 @@ public class GameManager extends JPanel {
     //Function: Reset Grid
     //Sets all grid cells in the game grid to empty
     public void resetGrid() {
-        grid.clearAllGridCells();
+        engine.reset();
+    }
+
+    //Function: Get Engine
+    //@return               the game engine holding the current game
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    //Function: Set Render Loop
+    //@param renderLoop     the loop which draws the game each frame, or null
+    //                      to leave painting to Swing
+    public void setRenderLoop(RenderLoop renderLoop) {
+        this.renderLoop = renderLoop;
+        if (renderLoop != null)
+            renderLoop.setPerformanceOverlay(performanceOverlay);
+    }
+
+    //Function: Toggle Performance Overlay
+    //Shows or hides the frame, tick and memory statistics over the board
+    public void togglePerformanceOverlay() {
+        performanceOverlay.toggle();
+        requestRender(performanceOverlay.getPosX(),
+                performanceOverlay.getPosY(), PerformanceOverlay.WIDTH,
+                PerformanceOverlay.HEIGHT);
+    }
+
+    //Function: Request Render
+    //Asks for the whole game to be redrawn. With a render loop the request
+    //only marks the next frame as dirty, so any number of requests between
+    //two frames cost one paint.
+    public void requestRender() {
+        damageTracker.addAll();
+        flushDamage();
+    }
+
+    //Function: Request Render
+    //@param posX           the left edge of the area which has changed
+    //       posY           the top edge of the area which has changed
+    //       width          the width of the area
+    //       height         the height of the area
+    //Asks for only part of the game to be redrawn
+    public void requestRender(double posX, double posY, double width,
+                              double height) {
+        damageTracker.add(posX, posY, width, height);
+        flushDamage();
+    }
+
+    //Function: Get Damage Tracker
+    //@return               the tracker of the areas which need repainting
+    public DamageTracker getDamageTracker() {
+        return damageTracker;
     }
 
     //Function: Set Dimensions
@@ -412,6 +321,7 @@ public class GameManager extends JPanel {
         helpScreen.setDimensions(posX, posY, width - 500, height);
         aboutScreen.setDimensions(posX, posY, width - 500, height);
         infoBoard.setDimensions(width - 500, posY, 400, height);
+        performanceOverlay.setPosition(posX + 10, posY + 10);
     }
 
     //Function: Set Dimensions
@@ -422,6 +332,29 @@ public class GameManager extends JPanel {
         setDimensions(posX, posY, width, height);
     }
 
+    //Function: Get Game Over Layer
+    //@return               the translucent game over box, drawn once into an
+    //                      image the first time it is needed and again
+    //                      whenever the theme changes
+    private BufferedImage getGameOverLayer() {
+
+        Theme theme = Theme.getTheme();
+        if (gameOverLayer == null || gameOverTheme != theme) {
+            gameOverTheme = theme;
+            gameOverLayer = new BufferedImage(GAME_OVER_WIDTH,
+                    GAME_OVER_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = gameOverLayer.createGraphics();
+            g.setColor(theme.getOverlayColor());
+            g.fillRect(0, 0, GAME_OVER_WIDTH, GAME_OVER_HEIGHT);
+            g.setColor(theme.getOverlayTextColor());
+            g.setFont(theme.getBannerFont());
+            g.drawString("GAME", 47, 80);
+            g.drawString("OVER", 47, 160);
+            g.dispose();
+        }
+        return gameOverLayer;
+    }
+
     //Function: Paint
     //@param g              The graphics element
     //Renders the objects corresponding the the current game state
@@ -445,15 +378,12 @@ public class GameManager extends JPanel {
             disclaimerScreen.paint(g);
         }
         if (TetrisGame.getGameState().equals(GameState.GAMEOVER)) {
-            int boxPosX = (int)(posX + (width - 500) / 2 - 150);
-            int boxPosY = (int)(posY + height / 2 - 100);
-            g.setColor(new Color(70, 70, 70, 176));
-            g.fillRect(boxPosX, boxPosY, 300, 200);
-            g.setColor(new Color(255, 255, 255));
-            g.setFont(new Font("Arial", Font.BOLD, 70));
-            g.drawString("GAME", boxPosX + 47, boxPosY + 80);
-            g.drawString("OVER", boxPosX + 47, boxPosY + 160);
+            int boxPosX = (int)(posX + (width - 500) / 2 -
+                    GAME_OVER_WIDTH / 2);
+            int boxPosY = (int)(posY + height / 2 - GAME_OVER_HEIGHT / 2);
+            g.drawImage(getGameOverLayer(), boxPosX, boxPosY, null);
         }
+        performanceOverlay.paint(g);
         renderCycle++;
         if (debug)
             System.out.println(toString());
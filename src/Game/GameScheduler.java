@@ -0,0 +1,146 @@
+//----------------------------GAME SCHEDULER CLASS----------------------------//
+//@author Titanjack
+//@project Tetris
+//The Game Scheduler class drives the game at a fixed number of logic ticks a
+//second, by default the tick rate of the engine. A clock thread sleeps until
+//each tick is due by System.nanoTime, which never jumps with the wall clock,
+//and asks the event queue to run the ticks. The ticks themselves always run
+//on the event queue, the same thread as the player's input. The number of
+//ticks run is worked out from the time since the scheduler was started, so
+//when the event queue falls behind the missed ticks are caught up in one go
+//instead of being dropped. Only when it falls very far behind is the missed
+//time given up, so the game does not race ahead after a long stall.
+
+package Game;
+
+import javax.swing.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+@SuppressWarnings({"WeakerAccess"})
+public class GameScheduler {
+
+    //The most ticks run at once to catch up
+    public static final int MAX_CATCH_UP = 8;
+
+    private long tickNanos;
+    private Runnable tickAction;
+    private volatile Thread clock;
+    private volatile boolean running;
+    private AtomicBoolean runPending;
+    private long startTime;
+    private long ticksRun;
+    private long ticksDropped;
+
+    public GameScheduler(Runnable tickAction) {
+        this(tickAction, GameEngine.TICKS_PER_SECOND);
+    }
+
+    public GameScheduler(Runnable tickAction, int ticksPerSecond) {
+
+        this.tickAction = tickAction;
+        tickNanos = 1000000000L / ticksPerSecond;
+        runPending = new AtomicBoolean(false);
+        running = false;
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public void start()
+    //public void stop()
+    //private void runClock()
+    //private void runDueTicks()
+
+    //Function: Start
+    //Starts counting ticks from now, stopping the old clock if there was one.
+    //Must be called on the event queue.
+    public void start() {
+
+        stop();
+        startTime = System.nanoTime();
+        ticksRun = 0;
+        ticksDropped = 0;
+        running = true;
+        clock = new Thread(this::runClock, "Game Scheduler");
+        clock.setDaemon(true);
+        clock.start();
+    }
+
+    //Function: Stop
+    //Stops the clock. Ticks which were due but not yet run are thrown away.
+    public void stop() {
+
+        running = false;
+        if (clock != null) {
+            clock.interrupt();
+            clock = null;
+        }
+    }
+
+    //Function: Run Clock
+    //Sleeps until each tick is due and asks the event queue to run it. If a
+    //request is still waiting on the event queue, no new one is made, as it
+    //will run every tick due by the time it gets there. The clock ends once it
+    //has been stopped or replaced by a newer one.
+    private void runClock() {
+
+        long deadline = System.nanoTime() + tickNanos;
+        while (running && clock == Thread.currentThread()) {
+            long wait = deadline - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            if (runPending.compareAndSet(false, true))
+                SwingUtilities.invokeLater(this::runDueTicks);
+            //After a long stall the clock skips ahead rather than spinning
+            //through every missed deadline
+            deadline = wait < -MAX_CATCH_UP * tickNanos ? System.nanoTime() +
+                    tickNanos : deadline + tickNanos;
+        }
+    }
+
+    //Function: Run Due Ticks
+    //Runs every tick which has come due since the last run, up to the catch
+    //up limit
+    private void runDueTicks() {
+
+        runPending.set(false);
+        if (!running) return;
+        long dueTicks = (System.nanoTime() - startTime) / tickNanos;
+        if (dueTicks - ticksRun > MAX_CATCH_UP) {
+            ticksDropped += dueTicks - ticksRun - MAX_CATCH_UP;
+            ticksRun = dueTicks - MAX_CATCH_UP;
+        }
+        while (running && ticksRun < dueTicks) {
+            ticksRun++;
+            tickAction.run();
+        }
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public boolean isRunning()
+    //public long getTicksRun()
+    //public long getTicksDropped()
+
+    //Function: Is Running
+    //@return               whether the clock is running
+    public boolean isRunning() {
+        return running;
+    }
+
+    //Function: Get Ticks Run
+    //@return               the number of ticks run since the scheduler was
+    //                      started
+    public long getTicksRun() {
+        return ticksRun;
+    }
+
+    //Function: Get Ticks Dropped
+    //@return               the number of ticks given up because the event
+    //                      queue fell too far behind
+    public long getTicksDropped() {
+        return ticksDropped;
+    }
+}
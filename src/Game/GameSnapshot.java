@@ -0,0 +1,189 @@
+//-----------------------------GAME SNAPSHOT CLASS----------------------------//
+//@author Titanjack
+//@project Tetris
+//The Game Snapshot class holds everything needed to carry on a game from a
+//single tick: the locked blocks and their colors, the active and held pieces,
+//the upcoming pieces and the state of the randomizer, along with the score,
+//level and timers. A snapshot is filled by the game engine and can be loaded
+//back into any engine with the same board size. The arrays of a snapshot are
+//created once, so the same snapshot can be filled over and over without
+//allocating.
+//Snapshots can also be written to and read from a stream in a compact form,
+//where only the colors of occupied cells are stored. Numbers are written as
+//the same varints used by replays.
+
+package Game;
+
+import Util.VarInt;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+@SuppressWarnings({"WeakerAccess"})
+public class GameSnapshot {
+
+    //Stands in for a piece which is not there
+    static final int NO_PIECE = -1;
+    //The center of a piece can sit up to two cells outside the grid
+    private static final int MARGIN = 2;
+
+    int rows;
+    int cols;
+    long[] rowBits;
+    byte[] colors;
+    long tick;
+    long seed;
+    int score;
+    int level;
+    int linesCleared;
+    int piecesPlaced;
+    int gravityCounter;
+    int lockCounter;
+    int spawnCounter;
+    boolean canHold;
+    boolean gameOver;
+    int heldPiece;
+    int pieceType;
+    int pieceRow;
+    int pieceCol;
+    int pieceOrientation;
+    int randomizerType;
+    int previewSize;
+    int previewHead;
+    int[] preview;
+    int randomizerStateSize;
+    long[] randomizerState;
+
+    public GameSnapshot(int rows, int cols) {
+
+        this.rows = rows;
+        this.cols = cols;
+        rowBits = new long[rows];
+        colors = new byte[rows * cols];
+        preview = new int[TetrominoQueue.MAX_DEPTH];
+        randomizerState = new long[Randomizer.MAX_STATE_SIZE];
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public void write(DataOutput out)
+    //public void read(DataInput in)
+
+    //Function: Write
+    //@param out            the stream the snapshot is written to
+    public void write(DataOutput out) throws IOException {
+
+        VarInt.writeVarLong(out, rows);
+        VarInt.writeVarLong(out, cols);
+        VarInt.writeVarLong(out, tick);
+        out.writeLong(seed);
+        VarInt.writeVarLong(out, score);
+        VarInt.writeVarLong(out, level);
+        VarInt.writeVarLong(out, linesCleared);
+        VarInt.writeVarLong(out, piecesPlaced);
+        VarInt.writeVarLong(out, gravityCounter);
+        VarInt.writeVarLong(out, lockCounter);
+        VarInt.writeVarLong(out, spawnCounter);
+        out.writeByte((canHold ? 1 : 0) | (gameOver ? 2 : 0));
+        out.writeByte(heldPiece);
+        out.writeByte(pieceType);
+        VarInt.writeVarLong(out, pieceRow + MARGIN);
+        VarInt.writeVarLong(out, pieceCol + MARGIN);
+        out.writeByte(pieceOrientation);
+        out.writeByte(randomizerType);
+        out.writeByte(previewSize);
+        out.writeByte(previewHead);
+        for (int i = 0; i < previewSize; i++)
+            out.writeByte(preview[i]);
+        out.writeByte(randomizerStateSize);
+        for (int i = 0; i < randomizerStateSize; i++)
+            VarInt.writeVarLong(out, randomizerState[i]);
+
+        //Each row is its bitmask followed by the colors of its blocks
+        for (int row = 0; row < rows; row++) {
+            VarInt.writeVarLong(out, rowBits[row]);
+            long bits = rowBits[row];
+            while (bits != 0) {
+                out.writeByte(colors[row * cols +
+                        Long.numberOfTrailingZeros(bits)]);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    //Function: Read
+    //@param in             the stream the snapshot is read from, which must
+    //                      hold a snapshot of the same board size
+    public void read(DataInput in) throws IOException {
+
+        if (VarInt.readVarLong(in) != rows ||
+                VarInt.readVarLong(in) != cols)
+            throw new IOException("Snapshot does not match the board size");
+        tick = VarInt.readVarLong(in);
+        seed = in.readLong();
+        score = (int) VarInt.readVarLong(in);
+        level = (int) VarInt.readVarLong(in);
+        linesCleared = (int) VarInt.readVarLong(in);
+        piecesPlaced = (int) VarInt.readVarLong(in);
+        gravityCounter = (int) VarInt.readVarLong(in);
+        lockCounter = (int) VarInt.readVarLong(in);
+        spawnCounter = (int) VarInt.readVarLong(in);
+        int flags = in.readUnsignedByte();
+        canHold = (flags & 1) != 0;
+        gameOver = (flags & 2) != 0;
+        heldPiece = in.readByte();
+        pieceType = in.readByte();
+        pieceRow = (int) VarInt.readVarLong(in) - MARGIN;
+        pieceCol = (int) VarInt.readVarLong(in) - MARGIN;
+        pieceOrientation = in.readUnsignedByte();
+        randomizerType = in.readUnsignedByte();
+        previewSize = in.readUnsignedByte();
+        previewHead = in.readUnsignedByte();
+        if (previewSize > preview.length)
+            throw new IOException("Snapshot preview is too deep");
+        for (int i = 0; i < previewSize; i++)
+            preview[i] = in.readUnsignedByte();
+        randomizerStateSize = in.readUnsignedByte();
+        if (randomizerStateSize > randomizerState.length)
+            throw new IOException("Snapshot randomizer state is too large");
+        for (int i = 0; i < randomizerStateSize; i++)
+            randomizerState[i] = VarInt.readVarLong(in);
+
+        for (int row = 0; row < rows; row++) {
+            rowBits[row] = VarInt.readVarLong(in);
+            for (int col = 0; col < cols; col++)
+                colors[row * cols + col] = 0;
+            long bits = rowBits[row];
+            while (bits != 0) {
+                colors[row * cols + Long.numberOfTrailingZeros(bits)] =
+                        in.readByte();
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public int getRows()
+    //public int getCols()
+    //public long getTick()
+
+    //Function: Get Rows
+    //@return               the number of rows of the board in the snapshot
+    public int getRows() {
+        return rows;
+    }
+
+    //Function: Get Cols
+    //@return               the number of columns of the board in the snapshot
+    public int getCols() {
+        return cols;
+    }
+
+    //Function: Get Tick
+    //@return               the tick the snapshot was taken on
+    public long getTick() {
+        return tick;
+    }
+}
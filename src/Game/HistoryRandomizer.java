@@ -0,0 +1,101 @@
+//---------------------------HISTORY RANDOMIZER CLASS-------------------------//
+//@author Titanjack
+//@project Tetris
+//The History Randomizer class remembers the last four pieces dealt and rerolls
+//a piece (up to a few times) when it is one of them, which makes long droughts
+//and repeats rare without fixing the order like a bag. The history starts
+//filled with Z pieces and the first piece is never an S, Z or O, so the game
+//never opens with a piece that leaves a hole.
+
+package Game;
+
+import Util.SplitMix;
+
+@SuppressWarnings({"WeakerAccess"})
+public class HistoryRandomizer implements Randomizer {
+
+    private static final PieceType[] pieceTypes = PieceType.values();
+    private static final int HISTORY_SIZE = 4;
+    private static final int ROLLS = 4;
+
+    private SplitMix random;
+    private int[] history;
+    private int historyStart;
+    private boolean firstPiece;
+
+    public HistoryRandomizer(long seed) {
+
+        random = new SplitMix(seed);
+        history = new int[HISTORY_SIZE];
+        for (int i = 0; i < history.length; i++)
+            history[i] = PieceType.Z.ordinal();
+        historyStart = 0;
+        firstPiece = true;
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public PieceType next()
+    //public int saveState(long[] state)
+    //public void loadState(long[] state)
+
+    //Function: Next
+    //@return               the shape of the next piece
+    public PieceType next() {
+
+        int piece;
+        if (firstPiece) {
+            firstPiece = false;
+            do {
+                piece = random.nextInt(pieceTypes.length);
+            } while (piece == PieceType.S.ordinal() ||
+                    piece == PieceType.Z.ordinal() ||
+                    piece == PieceType.O.ordinal());
+        } else {
+            piece = random.nextInt(pieceTypes.length);
+            for (int roll = 1; roll < ROLLS && isInHistory(piece); roll++)
+                piece = random.nextInt(pieceTypes.length);
+        }
+        //The oldest piece is overwritten by the new one
+        history[historyStart] = piece;
+        historyStart = (historyStart + 1) % HISTORY_SIZE;
+        return pieceTypes[piece];
+    }
+
+    //Function: Save State
+    //@param state          the array the state is written to, from index 0
+    //@return               the number of values written
+    public int saveState(long[] state) {
+
+        int size = 0;
+        state[size++] = random.getState();
+        state[size++] = historyStart;
+        state[size++] = firstPiece ? 1 : 0;
+        for (int piece : history)
+            state[size++] = piece;
+        return size;
+    }
+
+    //Function: Load State
+    //@param state          an array written by save state
+    public void loadState(long[] state) {
+
+        int size = 0;
+        random.setState(state[size++]);
+        historyStart = (int) state[size++];
+        firstPiece = state[size++] != 0;
+        for (int i = 0; i < history.length; i++)
+            history[i] = (int) state[size++];
+    }
+
+    //----------------------------UTILITY FUNCTION----------------------------//
+    //Function: Is In History
+    //@param piece          the ordinal of the piece type
+    //@return               whether the piece is one of the last pieces dealt
+    private boolean isInHistory(int piece) {
+
+        for (int pastPiece : history)
+            if (pastPiece == piece) return true;
+        return false;
+    }
+}
@@ -3,12 +3,17 @@
 //@project Tetris
 //The Info Board class handles all contents to be displayed on the game's
 //info board. This includes the queue that contains the next pieces and the
-//player's current score.
+//player's current score. The next pieces are drawn straight from the piece
+//shapes every time the board is painted, shrinking to fit however many pieces
+//the game shows. The board remembers what it last showed, so only the parts
+//which have changed are reported to the damage tracker.
 
 package Game;
 
-import Grid.GameGrid;
+import Grid.CellPalette;
+import Grid.DamageTracker;
 import Input.InfoBoardInput;
+import Style.Theme;
 
 import javax.swing.*;
 import java.awt.*;
@@ -17,85 +22,40 @@ import java.awt.*;
         "FieldCanBeLocal"})
 public class InfoBoard extends JPanel {
 
+    //The height of the area below the title where the next pieces are shown
+    private static final double PREVIEW_HEIGHT = 360;
+    private static final double PREVIEW_CELL_SIZE = 50;
+    //The area holding the score, level and held piece
+    private static final double STATS_TOP = 570;
+    private static final double STATS_HEIGHT = 200;
+
     private double width;
     private double height;
     private double posX;
     private double posY;
-    private GameGrid[] pieceQueue;
-    private Tetromino[] nextPieces;
+    private GameEngine engine;
     private InfoBoardInput infoBoardInput;
-    private int piecesQueued;
-    private int queueSize;
+    private int shownScore;
+    private int shownLevel;
+    private PieceType shownHeldPiece;
+    private PieceType[] shownPreview;
 
-    public InfoBoard(double posX, double posY, double width, double height) {
+    public InfoBoard(GameEngine engine, double posX, double posY, double width,
+                     double height) {
 
-        queueSize = 2;
-        piecesQueued = 0;
+        this.engine = engine;
         infoBoardInput = new InfoBoardInput(posX, posY, width, height);
+        shownScore = -1;
+        shownPreview = new PieceType[TetrominoQueue.MAX_DEPTH];
         setDimensions(posX, posY, width, height);
-        nextPieces = new Tetromino[queueSize];
     }
 
     //-----------------------------CORE FUNCTIONS-----------------------------//
     //FUNCTION LIST:
-    //public void addPieceToQueue(PieceType pieceType, Color pieceColor)
-    //public void addToScore(int add)
-    //private Tetromino setTetromino(int gridNum, PieceType pieceType,
-    //                               Color pieceColor)
     //public void mouseAction(double posX, double posY, double offsetX,
     //                        double offsetY, MouseAction action)
-
-    //Function: Add Piece To Queue
-    //@param pieceType          the shape of the piece to be displayed
-    //       pieceColor         the color of the piece
-    //The pieces will be queued into a game grid array which will display the
-    //piece on the screen
-    public void addPieceToQueue(PieceType pieceType, Color pieceColor) {
-
-        //When the queue is not yet filled
-        if (piecesQueued < queueSize) {
-            nextPieces[piecesQueued] = setTetromino(piecesQueued, pieceType,
-                    pieceColor);
-            piecesQueued++;
-        } else {
-            //Deleting the image of the previous tetris piece and setting
-            //new tetris pieces in the grids
-            for (int gridNum = 0; gridNum < queueSize; gridNum++) {
-
-                for (int[] coord : nextPieces[gridNum].getCoords())
-                    pieceQueue[gridNum].setEmpty(coord[0], coord[1]);
-
-                if (gridNum == queueSize - 1) {
-                    nextPieces[gridNum] = setTetromino(gridNum, pieceType,
-                            pieceColor);
-                } else {
-                    nextPieces[gridNum] = nextPieces[gridNum + 1];
-                    setTetromino(gridNum, nextPieces[gridNum + 1].getType(),
-                            nextPieces[gridNum + 1].getColor());
-                }
-            }
-        }
-    }
-
-    //Function: Set Tetromino
-    //@param gridNum            in which grid the tetromino is to be set
-    //       pieceType          the shape of the piece to be set to the grid
-    //       pieceColor         the color of the piece
-    //@return                   an object instance of the tetromino that has
-    //                          been set to the grid
-    private Tetromino setTetromino(int gridNum, PieceType pieceType,
-                                Color pieceColor) {
-
-        Tetromino tetromino = new Tetromino(1, 1, pieceType,
-                pieceColor);
-        int[][] pieceCoords = tetromino.getCoords();
-        for (int[] coord : pieceCoords) {
-            int row = coord[0], col = coord[1];
-            pieceQueue[gridNum].setActive(row, col, pieceColor);
-        }
-        repaint();
-        return tetromino;
-    }
+    //public void updateDamage(DamageTracker damageTracker)
+    //private void paintPreview(Graphics g)
 
     //Function: Mouse Action
     //@param posX           the x pos of the mouse
@@ -110,6 +70,70 @@ public class InfoBoard extends JPanel {
         infoBoardInput.mouseAction(posX, posY, offsetX, offsetY, action);
     }
 
+    //Function: Update Damage
+    //@param damageTracker  the tracker the changed areas are reported to
+    //Compares the score, level, held piece and preview with what was last
+    //shown and reports the areas of the ones which have changed
+    public void updateDamage(DamageTracker damageTracker) {
+
+        if (engine.getScore() != shownScore || engine.getLevel() !=
+                shownLevel || engine.getHeldPiece() != shownHeldPiece) {
+            shownScore = engine.getScore();
+            shownLevel = engine.getLevel();
+            shownHeldPiece = engine.getHeldPiece();
+            damageTracker.add(posX, posY + STATS_TOP, width, STATS_HEIGHT);
+        }
+        PiecePreview preview = engine.getPreview();
+        boolean previewChanged = false;
+        for (int i = 0; i < shownPreview.length; i++) {
+            PieceType pieceType = preview != null && i < preview.size() ?
+                    preview.peek(i) : null;
+            if (pieceType != shownPreview[i]) {
+                shownPreview[i] = pieceType;
+                previewChanged = true;
+            }
+        }
+        if (previewChanged)
+            //The pieces in the last slot can hang a little past its bottom
+            damageTracker.add(posX, posY + 200, width, PREVIEW_HEIGHT +
+                    PREVIEW_CELL_SIZE);
+    }
+
+    //Function: Paint Preview
+    //@param g              the graphics component
+    //Draws each upcoming piece in its own slot below the title. With two
+    //pieces the slots are the size of the original preview grids, and they
+    //shrink evenly when more pieces are shown.
+    private void paintPreview(Graphics g) {
+
+        PiecePreview preview = engine.getPreview();
+        if (preview == null) return;
+        double slotHeight = Math.min(PREVIEW_HEIGHT / 2,
+                PREVIEW_HEIGHT / preview.size());
+        //Every piece is at most two cells tall when it is spawned
+        double cellSize = Math.min(PREVIEW_CELL_SIZE, slotHeight / 2.5);
+        double slotX = posX + width * 0.1;
+
+        for (int slot = 0; slot < preview.size(); slot++) {
+            PieceType pieceType = preview.peek(slot);
+            double slotY = posY + 200 + slot * slotHeight;
+            int cells = PieceShapes.getCells(pieceType, 0);
+            g.setColor(CellPalette.getColor(PieceShapes.getPaletteIndex(
+                    pieceType)));
+            //The piece is centered at the second row and column of the slot
+            for (int i = 0; i < PieceShapes.CELLS; i++) {
+                double cellX = slotX + (1 + PieceShapes.cellCol(cells, i)) *
+                        cellSize;
+                double cellY = slotY + (1 + PieceShapes.cellRow(cells, i)) *
+                        cellSize;
+                g.fillRect((int) Math.round(cellX + 2),
+                        (int) Math.round(cellY + 2),
+                        (int) Math.round(cellSize - 2),
+                        (int) Math.round(cellSize - 2));
+            }
+        }
+    }
+
     //---------------------------MISC FUNCTIONS-------------------------------//
     //FUNCTION LIST:
     //public void setDimensions(double posX, double posY, double width,
@@ -130,27 +154,8 @@ public class InfoBoard extends JPanel {
         this.posX = posX;
         this.posY = posY;
         this.width = width;
-        double gridWidth = width * 0.8;
+        this.height = height;
         infoBoardInput.setDimensions(posX, posY, width, height);
-        if (pieceQueue == null) {
-            //Two game grids which are made small in size is used to display the
-            //upcoming tetromino pieces within the queue
-            pieceQueue = new GameGrid[queueSize];
-            pieceQueue[0] = new GameGrid(posX + width /
-                    2 - gridWidth / 2, posY + 200, gridWidth, 150,
-                    0, 3, 4);
-            pieceQueue[0].setPaintBackground(false);
-
-            pieceQueue[1] = new GameGrid(posX + width /
-                    2 - gridWidth / 2, posY + 380, gridWidth, 150,
-                    0, 3, 4);
-            pieceQueue[1].setPaintBackground(false);
-        } else {
-            pieceQueue[0].setGridSize(posX + width / 2 - gridWidth / 2,
-                    posY + 200, gridWidth, 150);
-            pieceQueue[1].setGridSize(posX + width / 2 - gridWidth / 2,
-                    posY + 380, gridWidth, 150);
-        }
     }
 
     //UNUSED
@@ -171,25 +176,27 @@ public class InfoBoard extends JPanel {
     public void paint(Graphics g) {
 
         super.paintComponent(g);
-        g.setColor(new Color(114, 114, 114));
-        g.setFont(new Font("Arial", Font.BOLD, 50));
+        Theme theme = Theme.getTheme();
+        g.setColor(theme.getTextColor());
+        g.setFont(theme.getLogoFont());
         g.drawString("TETRIS", (int) (posX + 20),
                 (int) (posY + 70));
 
         infoBoardInput.paint(g);
         if (TetrisGame.getGameState().equals(GameState.INGAME) ||
             TetrisGame.getGameState().equals(GameState.GAMEOVER)) {
-            g.setColor(new Color(114, 114, 114));
-            g.setFont(new Font("Arial", Font.BOLD, 35));
-            g.drawString("Score  " + TetrisGame.getScore(), (int)(posX + 50),
+            g.setColor(theme.getTextColor());
+            g.setFont(theme.getStatsFont());
+            g.drawString("Score  " + engine.getScore(), (int)(posX + 50),
                     (int) (posY + 610));
-            g.drawString("Level  " + TetrisGame.getGameLevel(),
+            g.drawString("Level  " + engine.getLevel(),
                     (int) (posX + 50), (int) (posY + 680));
+            if (engine.getHeldPiece() != null)
+                g.drawString("Hold  " + engine.getHeldPiece(),
+                        (int) (posX + 50), (int) (posY + 750));
         }
-        if (TetrisGame.getGameState().equals(GameState.INGAME)) {
-            pieceQueue[0].paint(g);
-            pieceQueue[1].paint(g);
-        }
+        if (TetrisGame.getGameState().equals(GameState.INGAME))
+            paintPreview(g);
     }
 
     //Function: To String
@@ -198,15 +205,12 @@ public class InfoBoard extends JPanel {
     @Override
     public String toString() {
 
-        String infoStr = "Score: " + TetrisGame.getScore() + "\n";
-        String[][] pendingPiecesStr = new String[2][];
-        for (int i = 0; i < queueSize; i++)
-            pendingPiecesStr[i] = pieceQueue[i].toString().split("\n");
-
-        for (int i = 0; i < pendingPiecesStr[0].length; i++) {
-            for (int j = 0; j < queueSize; j++) {
-                infoStr = infoStr.concat(pendingPiecesStr[j][i] + "\t");
-            }
+        String infoStr = "Score: " + engine.getScore() + "\n";
+        PiecePreview preview = engine.getPreview();
+        if (preview != null) {
+            infoStr = infoStr.concat("Next:");
+            for (int i = 0; i < preview.size(); i++)
+                infoStr = infoStr.concat(" " + preview.peek(i));
             infoStr = infoStr.concat("\n");
         }
         return infoStr;
@@ -0,0 +1,188 @@
+//------------------------------KICK TABLE CLASS------------------------------//
+//@author Titanjack
+//@project Tetris
+//The Kick Table class holds the positions tried when a piece is rotated, based
+//on the Super Rotation System. For every piece type, starting orientation and
+//number of turns there is a fixed list of offsets which are tested in order,
+//and the piece is moved to the first one which does not collide. The tables
+//are built once when the class is loaded, so rotating never allocates.
+
+package Game;
+
+import Grid.BitGrid;
+import Grid.PieceMask;
+
+@SuppressWarnings({"WeakerAccess"})
+public class KickTable {
+
+    //Offsets are written as in the rotation system, {x, y} with y pointing
+    //up, indexed by rotation state (0, R, 2, L) and the rotation state which
+    //is turned to
+    private static final int[][][][] srsKicks = {
+            //From 0
+            {null,
+                    {{0, 0}, {-1, 0}, {-1, 1}, {0, -2}, {-1, -2}},
+                    {{0, 0}, {0, 1}, {1, 1}, {-1, 1}, {1, 0}, {-1, 0}},
+                    {{0, 0}, {1, 0}, {1, 1}, {0, -2}, {1, -2}}},
+            //From R
+            {{{0, 0}, {1, 0}, {1, -1}, {0, 2}, {1, 2}},
+                    null,
+                    {{0, 0}, {1, 0}, {1, -1}, {0, 2}, {1, 2}},
+                    {{0, 0}, {1, 0}, {1, 2}, {1, 1}, {0, 2}, {0, 1}}},
+            //From 2
+            {{{0, 0}, {0, -1}, {-1, -1}, {1, -1}, {-1, 0}, {1, 0}},
+                    {{0, 0}, {-1, 0}, {-1, 1}, {0, -2}, {-1, -2}},
+                    null,
+                    {{0, 0}, {1, 0}, {1, 1}, {0, -2}, {1, -2}}},
+            //From L
+            {{{0, 0}, {-1, 0}, {-1, -1}, {0, 2}, {-1, 2}},
+                    {{0, 0}, {-1, 0}, {-1, 2}, {-1, 1}, {0, 2}, {0, 1}},
+                    {{0, 0}, {-1, 0}, {-1, -1}, {0, 2}, {-1, 2}},
+                    null}
+    };
+
+    //The I piece has its own quarter turn kicks, half turns are shared
+    private static final int[][][][] srsKicksI = {
+            //From 0
+            {null,
+                    {{0, 0}, {-2, 0}, {1, 0}, {-2, -1}, {1, 2}},
+                    srsKicks[0][2],
+                    {{0, 0}, {-1, 0}, {2, 0}, {-1, 2}, {2, -1}}},
+            //From R
+            {{{0, 0}, {2, 0}, {-1, 0}, {2, 1}, {-1, -2}},
+                    null,
+                    {{0, 0}, {-1, 0}, {2, 0}, {-1, 2}, {2, -1}},
+                    srsKicks[1][3]},
+            //From 2
+            {srsKicks[2][0],
+                    {{0, 0}, {1, 0}, {-2, 0}, {1, -2}, {-2, 1}},
+                    null,
+                    {{0, 0}, {2, 0}, {-1, 0}, {2, 1}, {-1, -2}}},
+            //From L
+            {{{0, 0}, {1, 0}, {-2, 0}, {1, -2}, {-2, 1}},
+                    srsKicks[3][1],
+                    {{0, 0}, {-2, 0}, {1, 0}, {-2, -1}, {1, 2}},
+                    null}
+    };
+
+    //The kicks as row and column shifts on the grid, indexed by piece type,
+    //starting orientation, number of clockwise turns and test
+    private static final int[][][][] rowShifts = new int[PieceType.values()
+            .length][4][4][];
+    private static final int[][][][] colShifts = new int[PieceType.values()
+            .length][4][4][];
+
+    static {
+        for (PieceType pieceType : PieceType.values())
+            for (int orientation = 0; orientation < 4; orientation++)
+                for (int turns = 0; turns < 4; turns++)
+                    buildKicks(pieceType, orientation, turns);
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public static int getKickCount(PieceType pieceType, int orientation,
+    //                               int turns)
+    //public static int getRowShift(PieceType pieceType, int orientation,
+    //                              int turns, int test)
+    //public static int getColShift(PieceType pieceType, int orientation,
+    //                              int turns, int test)
+    //public static int findKick(BitGrid board, PieceType pieceType,
+    //                           int orientation, int turns, int row, int col)
+
+    //Function: Get Kick Count
+    //@param pieceType      the shape of the piece
+    //       orientation    the orientation before the rotation, from 0 to 3
+    //       turns          the number of clockwise quarter turns, from 0 to 3
+    //@return               the number of positions to be tested
+    public static int getKickCount(PieceType pieceType, int orientation,
+                                   int turns) {
+        return rowShifts[pieceType.ordinal()][orientation][turns].length;
+    }
+
+    //Function: Get Row Shift
+    //@param pieceType      the shape of the piece
+    //       orientation    the orientation before the rotation, from 0 to 3
+    //       turns          the number of clockwise quarter turns, from 0 to 3
+    //       test           which position to be tested, in order
+    //@return               the number of rows the piece is moved down by
+    public static int getRowShift(PieceType pieceType, int orientation,
+                                  int turns, int test) {
+        return rowShifts[pieceType.ordinal()][orientation][turns][test];
+    }
+
+    //Function: Get Col Shift
+    //@param pieceType      the shape of the piece
+    //       orientation    the orientation before the rotation, from 0 to 3
+    //       turns          the number of clockwise quarter turns, from 0 to 3
+    //       test           which position to be tested, in order
+    //@return               the number of columns the piece is moved right by
+    public static int getColShift(PieceType pieceType, int orientation,
+                                  int turns, int test) {
+        return colShifts[pieceType.ordinal()][orientation][turns][test];
+    }
+
+    //Function: Find Kick
+    //@param board          the locked blocks the piece is rotated against
+    //       pieceType      the shape of the piece
+    //       orientation    the orientation before the rotation, from 0 to 3
+    //       turns          the number of clockwise quarter turns, from 0 to 3
+    //       row            the row of the piece before the rotation
+    //       col            the column of the piece before the rotation
+    //@return               the first test where the rotated piece fits, or -1
+    //                      if the piece cannot be rotated
+    public static int findKick(BitGrid board, PieceType pieceType,
+                               int orientation, int turns, int row, int col) {
+
+        int type = pieceType.ordinal();
+        PieceMask mask = PieceShapes.getMask(pieceType,
+                (orientation + turns) & 3);
+        int[] testRows = rowShifts[type][orientation][turns];
+        int[] testCols = colShifts[type][orientation][turns];
+        for (int test = 0; test < testRows.length; test++) {
+            if (!board.collides(mask, row + testRows[test],
+                    col + testCols[test]))
+                return test;
+        }
+        return -1;
+    }
+
+    //----------------------------UTILITY FUNCTION----------------------------//
+    //Function: Build Kicks
+    //@param pieceType      the shape of the piece
+    //       orientation    the orientation before the rotation
+    //       turns          the number of clockwise quarter turns
+    //Converts the kicks of one rotation from the rotation system into grid
+    //shifts. The O piece never moves when it is rotated.
+    private static void buildKicks(PieceType pieceType, int orientation,
+                                   int turns) {
+
+        int type = pieceType.ordinal();
+        int from = getState(pieceType, orientation);
+        int to = (from + turns) & 3;
+        int[][] kicks;
+        if (turns == 0 || pieceType == PieceType.O)
+            kicks = new int[][] {{0, 0}};
+        else if (pieceType == PieceType.I)
+            kicks = srsKicksI[from][to];
+        else
+            kicks = srsKicks[from][to];
+
+        rowShifts[type][orientation][turns] = new int[kicks.length];
+        colShifts[type][orientation][turns] = new int[kicks.length];
+        for (int test = 0; test < kicks.length; test++) {
+            colShifts[type][orientation][turns][test] = kicks[test][0];
+            rowShifts[type][orientation][turns][test] = -kicks[test][1];
+        }
+    }
+
+    //Function: Get State
+    //@param pieceType      the shape of the piece
+    //       orientation    the orientation of the piece in the shape tables
+    //@return               the matching rotation state of the rotation system
+    //The T piece starts pointing down in the shape tables, which is state 2
+    private static int getState(PieceType pieceType, int orientation) {
+        if (pieceType == PieceType.T) return (orientation + 2) & 3;
+        return orientation;
+    }
+}
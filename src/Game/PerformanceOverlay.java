@@ -0,0 +1,278 @@
+//-------------------------PERFORMANCE OVERLAY CLASS--------------------------//
+//@author Titanjack
+//@project Tetris
+//The Performance Overlay class measures how smoothly the game is running and
+//shows it in a small box over the board. Each frame the render loop draws and
+//each tick the game runs is timed into a fixed ring of samples, which costs a
+//couple of array writes and never allocates. Twice a second, while the overlay
+//is showing, the samples are summed up into the lines of text shown: frames a
+//second, the median and 99th percentile time to draw a frame, the time taken
+//by the logic ticks, the most commands waiting for a tick, the rate the event
+//queue allocates memory at, and the garbage collections since the last update
+//along with the average pause of the last few.
+
+package Game;
+
+import Grid.DamageTracker;
+import Style.Theme;
+
+import java.awt.*;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+
+@SuppressWarnings({"WeakerAccess"})
+public class PerformanceOverlay {
+
+    public static final int WIDTH = 330;
+    public static final int HEIGHT = 160;
+    //The number of frames and ticks the statistics are taken over
+    private static final int SAMPLES = 256;
+    private static final int RECENT_PAUSES = 4;
+    private static final long UPDATE_NANOS = 500000000L;
+
+    private double posX;
+    private double posY;
+    private boolean shown;
+    private String[] lines;
+
+    private long[] frameTimes;
+    private long[] sortedTimes;
+    private int frameCount;
+    private long framesSinceUpdate;
+    private long[] tickTimes;
+    private int tickCount;
+    private long tickNanosSinceUpdate;
+    private long ticksSinceUpdate;
+    private long maxTickSinceUpdate;
+    private int maxQueuedSinceUpdate;
+
+    private GarbageCollectorMXBean[] collectors;
+    private long[] lastCollections;
+    private long[] lastCollectionTimes;
+    private double[] recentPauses;
+    private int pauseCount;
+    private com.sun.management.ThreadMXBean allocationBean;
+    private long lastAllocated;
+    private long lastUpdate;
+
+    public PerformanceOverlay(double posX, double posY) {
+
+        setPosition(posX, posY);
+        shown = false;
+        lines = new String[0];
+        frameTimes = new long[SAMPLES];
+        sortedTimes = new long[SAMPLES];
+        tickTimes = new long[SAMPLES];
+        recentPauses = new double[RECENT_PAUSES];
+        List<GarbageCollectorMXBean> beans =
+                ManagementFactory.getGarbageCollectorMXBeans();
+        collectors = beans.toArray(new GarbageCollectorMXBean[0]);
+        lastCollections = new long[collectors.length];
+        lastCollectionTimes = new long[collectors.length];
+        //Allocation counting is only offered by some virtual machines
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (!allocationBean.isThreadAllocatedMemorySupported())
+                allocationBean = null;
+            else if (!allocationBean.isThreadAllocatedMemoryEnabled())
+                allocationBean.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public void recordFrame(long nanos)
+    //public void recordTick(long nanos, int queuedCommands)
+    //public void update(long now, DamageTracker damageTracker)
+    //private void startSampling(long now)
+    //private void summarize(long now)
+    //private double percentile(int count, int percent)
+
+    //Function: Record Frame
+    //@param nanos          the time taken to draw and show a frame
+    public void recordFrame(long nanos) {
+
+        frameTimes[frameCount % SAMPLES] = nanos;
+        frameCount++;
+        framesSinceUpdate++;
+    }
+
+    //Function: Record Tick
+    //@param nanos          the time taken to run a logic tick
+    //       queuedCommands the number of commands waiting for the tick
+    public void recordTick(long nanos, int queuedCommands) {
+
+        tickTimes[tickCount % SAMPLES] = nanos;
+        tickCount++;
+        ticksSinceUpdate++;
+        tickNanosSinceUpdate += nanos;
+        maxTickSinceUpdate = Math.max(maxTickSinceUpdate, nanos);
+        maxQueuedSinceUpdate = Math.max(maxQueuedSinceUpdate, queuedCommands);
+    }
+
+    //Function: Update
+    //@param now            the current time by System.nanoTime
+    //       damageTracker  where the overlay marks itself to be repainted
+    //Sums up the samples into the text shown, if the overlay is showing and
+    //it is time to. Must be called on the event queue, as the allocation rate
+    //is counted for the thread it is called on.
+    public void update(long now, DamageTracker damageTracker) {
+
+        if (!shown || now - lastUpdate < UPDATE_NANOS) return;
+        summarize(now);
+        damageTracker.add(posX, posY, WIDTH, HEIGHT);
+    }
+
+    //Function: Start Sampling
+    //@param now            the current time by System.nanoTime
+    //Forgets what was counted while the overlay was hidden, so the first
+    //update only covers the time it has been showing
+    private void startSampling(long now) {
+
+        framesSinceUpdate = 0;
+        ticksSinceUpdate = 0;
+        tickNanosSinceUpdate = 0;
+        maxTickSinceUpdate = 0;
+        maxQueuedSinceUpdate = 0;
+        for (int i = 0; i < collectors.length; i++) {
+            lastCollections[i] = collectors[i].getCollectionCount();
+            lastCollectionTimes[i] = collectors[i].getCollectionTime();
+        }
+        if (allocationBean != null)
+            lastAllocated = allocationBean.getThreadAllocatedBytes(
+                    Thread.currentThread().getId());
+        lastUpdate = now;
+    }
+
+    //Function: Summarize
+    //@param now            the current time by System.nanoTime
+    //Works out the statistics since the last update and writes the lines of
+    //text shown, then starts counting again
+    private void summarize(long now) {
+
+        double seconds = (now - lastUpdate) / 1e9;
+        int frames = Math.min(frameCount, SAMPLES);
+        System.arraycopy(frameTimes, 0, sortedTimes, 0, frames);
+        Arrays.sort(sortedTimes, 0, frames);
+
+        long collections = 0, collectionTime = 0;
+        for (int i = 0; i < collectors.length; i++) {
+            long count = collectors[i].getCollectionCount();
+            long time = collectors[i].getCollectionTime();
+            collections += Math.max(0, count - lastCollections[i]);
+            collectionTime += Math.max(0, time - lastCollectionTimes[i]);
+        }
+        //The beans only give totals, so each update with collections records
+        //the average pause of the collections within it
+        if (collections > 0) {
+            recentPauses[pauseCount % RECENT_PAUSES] =
+                    (double) collectionTime / collections;
+            pauseCount++;
+        }
+        StringBuilder pauses = new StringBuilder();
+        for (int i = 1; i <= Math.min(pauseCount, RECENT_PAUSES); i++)
+            pauses.append(String.format(" %.1f",
+                    recentPauses[(pauseCount - i) % RECENT_PAUSES]));
+
+        String allocation = "n/a";
+        if (allocationBean != null) {
+            long allocated = allocationBean.getThreadAllocatedBytes(
+                    Thread.currentThread().getId());
+            allocation = String.format("%.2f MB/s", (allocated -
+                    lastAllocated) / seconds / (1024 * 1024));
+        }
+        lines = new String[]{
+                String.format("FPS     %.0f", framesSinceUpdate / seconds),
+                String.format("Frame   p50 %.2f  p99 %.2f ms",
+                        percentile(frames, 50), percentile(frames, 99)),
+                String.format("Tick    avg %.3f  max %.3f ms",
+                        ticksSinceUpdate == 0 ? 0 : tickNanosSinceUpdate /
+                        1e6 / ticksSinceUpdate, maxTickSinceUpdate / 1e6),
+                String.format("Input   %d queued at most",
+                        maxQueuedSinceUpdate),
+                "Alloc   " + allocation,
+                String.format("GC      %d runs  %d ms", collections,
+                        collectionTime),
+                "Pauses " + (pauses.length() == 0 ? " none" : pauses +
+                        " ms")
+        };
+        startSampling(now);
+    }
+
+    //Function: Percentile
+    //@param count          the number of sorted frame times
+    //       percent        the percentile wanted
+    //@return               the frame time at that percentile in milliseconds
+    private double percentile(int count, int percent) {
+        return count == 0 ? 0 : sortedTimes[(count - 1) * percent / 100] / 1e6;
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public void setPosition(double posX, double posY)
+    //public boolean toggle()
+    //public boolean isShown()
+    //public double getPosX()
+    //public double getPosY()
+    //public void paint(Graphics g)
+
+    //Function: Set Position
+    //@param posX           the left edge of the overlay
+    //       posY           the top edge of the overlay
+    public void setPosition(double posX, double posY) {
+        this.posX = posX;
+        this.posY = posY;
+    }
+
+    //Function: Toggle
+    //@return               whether the overlay is now showing
+    //Shows or hides the overlay. It shows no numbers until the first update.
+    public boolean toggle() {
+
+        shown = !shown;
+        if (shown) {
+            lines = new String[]{"Measuring..."};
+            startSampling(System.nanoTime());
+        }
+        return shown;
+    }
+
+    //Function: Is Shown
+    //@return               whether the overlay is showing
+    public boolean isShown() {
+        return shown;
+    }
+
+    //Function: Get Pos X
+    //@return               the left edge of the overlay
+    public double getPosX() {
+        return posX;
+    }
+
+    //Function: Get Pos Y
+    //@return               the top edge of the overlay
+    public double getPosY() {
+        return posY;
+    }
+
+    //Function: Paint
+    //@param g              the graphics component
+    //Renders the box and the lines of the last update, if showing
+    public void paint(Graphics g) {
+
+        if (!shown) return;
+        Theme theme = Theme.getTheme();
+        g.setColor(theme.getOverlayColor());
+        g.fillRect((int) posX, (int) posY, WIDTH, HEIGHT);
+        g.setColor(theme.getOverlayTextColor());
+        g.setFont(theme.getOverlayFont());
+        int lineHeight = theme.getMetrics(theme.getOverlayFont()).getHeight();
+        for (int i = 0; i < lines.length; i++)
+            g.drawString(lines[i], (int) posX + 10, (int) posY + 10 +
+                    (i + 1) * lineHeight);
+    }
+}
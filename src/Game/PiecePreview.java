@@ -0,0 +1,20 @@
+//--------------------------PIECE PREVIEW INTERFACE---------------------------//
+//@author Titanjack
+//@project Tetris
+//The Piece Preview interface is a read only view of the upcoming pieces of a
+//game. It is what the engine hands out to the info board and to agents, so
+//they can look ahead without being able to take pieces out of the queue.
+
+package Game;
+
+public interface PiecePreview {
+
+    //Function: Peek
+    //@param index          the position in the preview, 0 being the next piece
+    //@return               the shape of the piece at that position
+    PieceType peek(int index);
+
+    //Function: Size
+    //@return               the number of upcoming pieces which can be seen
+    int size();
+}
@@ -0,0 +1,149 @@
+//----------------------------PIECE SHAPES CLASS------------------------------//
+//@author Titanjack
+//@project Tetris
+//The Piece Shapes class holds the layout of all seven tetris pieces in all
+//four orientations. The tables are built once and shared by every piece, so no
+//piece has to carry its own copy. The blocks of a piece are also packed into a
+//single int, one byte per block, so the coordinates of a piece can be read
+//without creating any arrays.
+
+package Game;
+
+import Grid.PieceMask;
+
+@SuppressWarnings({"WeakerAccess"})
+public class PieceShapes {
+
+    //Number of blocks in every tetris piece
+    public static final int CELLS = 4;
+
+    //Offsets are stored with a bias so they fit in four unsigned bits
+    private static final int BIAS = 2;
+
+    //The coordinates of each block composing the tetris piece, which are
+    //relative to the position (center) of the tetris piece, indexed by piece
+    //type, orientation and block
+    private static final int[][][][] layouts = {
+            //I
+            {{{0, -1}, {0, 0}, {0, 1}, {0, 2}},
+                    {{-1, 1}, {0, 1}, {1, 1}, {2, 1}},
+                    {{1, -1}, {1, 0}, {1, 1}, {1, 2}},
+                    {{2, 0}, {1, 0}, {0, 0}, {-1, 0}}},
+            //J
+            {{{-1, -1}, {0, -1}, {0, 0}, {0, 1}},
+                    {{-1, 1}, {-1, 0}, {0, 0}, {1, 0}},
+                    {{1, 1}, {0, 1}, {0, 0}, {0, -1}},
+                    {{1, -1}, {1, 0}, {0, 0}, {-1, 0}}},
+            //L
+            {{{0, -1}, {0, 0}, {0, 1}, {-1, 1}},
+                    {{-1, 0}, {0, 0}, {1, 0}, {1, 1}},
+                    {{0, 1}, {0, 0}, {0, -1}, {1, -1}},
+                    {{1, 0}, {0, 0}, {-1, 0}, {-1, -1}}},
+            //O
+            {{{0, 0}, {0, 1}, {1, 0}, {1, 1}},
+                    {{0, 0}, {0, 1}, {1, 0}, {1, 1}},
+                    {{0, 0}, {0, 1}, {1, 0}, {1, 1}},
+                    {{0, 0}, {0, 1}, {1, 0}, {1, 1}}},
+            //S
+            {{{-1, 1}, {-1, 0}, {0, 0}, {0, -1}},
+                    {{1, 1}, {0, 1}, {0, 0}, {-1, 0}},
+                    {{1, -1}, {1, 0}, {0, 0}, {0, 1}},
+                    {{-1, -1}, {0, -1}, {0, 0}, {1, 0}}},
+            //T
+            {{{0, -1}, {0, 0}, {0, 1}, {1, 0}},
+                    {{-1, 0}, {0, 0}, {0, -1}, {1, 0}},
+                    {{0, 1}, {0, 0}, {-1, 0}, {0, -1}},
+                    {{1, 0}, {0, 0}, {0, 1}, {-1, 0}}},
+            //Z
+            {{{-1, -1}, {-1, 0}, {0, 0}, {0, 1}},
+                    {{-1, 1}, {0, 1}, {0, 0}, {1, 0}},
+                    {{1, 1}, {1, 0}, {0, 0}, {0, -1}},
+                    {{1, -1}, {0, -1}, {0, 0}, {-1, 0}}}
+    };
+
+    private static final int[][] packedCells = buildPackedCells();
+    private static final PieceMask[][] masks = buildMasks();
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public static int getCells(PieceType pieceType, int orientation)
+    //public static int cellRow(int cells, int index)
+    //public static int cellCol(int cells, int index)
+    //public static PieceMask getMask(PieceType pieceType, int orientation)
+    //public static int getPaletteIndex(PieceType pieceType)
+
+    //Function: Get Cells
+    //@param pieceType      the shape of the piece
+    //       orientation    the orientation of the piece, from 0 to 3
+    //@return               the offsets of the piece's blocks packed into an
+    //                      int, to be read with cellRow and cellCol
+    public static int getCells(PieceType pieceType, int orientation) {
+        return packedCells[pieceType.ordinal()][orientation];
+    }
+
+    //Function: Cell Row
+    //@param cells          the packed offsets of a piece
+    //       index          which block of the piece, from 0 to 3
+    //@return               the row offset of the block from the piece center
+    public static int cellRow(int cells, int index) {
+        return ((cells >>> (index * 8 + 4)) & 0xF) - BIAS;
+    }
+
+    //Function: Cell Col
+    //@param cells          the packed offsets of a piece
+    //       index          which block of the piece, from 0 to 3
+    //@return               the column offset of the block from the piece
+    //                      center
+    public static int cellCol(int cells, int index) {
+        return ((cells >>> (index * 8)) & 0xF) - BIAS;
+    }
+
+    //Function: Get Mask
+    //@param pieceType      the shape of the piece
+    //       orientation    the orientation of the piece, from 0 to 3
+    //@return               the collision mask of the piece
+    public static PieceMask getMask(PieceType pieceType, int orientation) {
+        return masks[pieceType.ordinal()][orientation];
+    }
+
+    //Function: Get Palette Index
+    //@param pieceType      the shape of the piece
+    //@return               the palette index of the piece's color
+    public static int getPaletteIndex(PieceType pieceType) {
+        return pieceType.ordinal() + 1;
+    }
+
+    //----------------------------UTILITY FUNCTION----------------------------//
+    //Function: Build Packed Cells
+    //@return               the packed offsets of every piece in every
+    //                      orientation
+    private static int[][] buildPackedCells() {
+
+        int[][] cells = new int[layouts.length][4];
+        for (int type = 0; type < layouts.length; type++) {
+            for (int orientation = 0; orientation < 4; orientation++) {
+                int packed = 0;
+                for (int i = 0; i < CELLS; i++) {
+                    int[] offset = layouts[type][orientation][i];
+                    packed |= (((offset[0] + BIAS) << 4) | (offset[1] + BIAS))
+                            << (i * 8);
+                }
+                cells[type][orientation] = packed;
+            }
+        }
+        return cells;
+    }
+
+    //Function: Build Masks
+    //@return               the collision masks of every piece in every
+    //                      orientation
+    private static PieceMask[][] buildMasks() {
+
+        PieceMask[][] pieceMasks = new PieceMask[layouts.length][4];
+        for (int type = 0; type < layouts.length; type++)
+            for (int orientation = 0; orientation < 4; orientation++)
+                pieceMasks[type][orientation] = new PieceMask(
+                        layouts[type][orientation]);
+        return pieceMasks;
+    }
+}
@@ -0,0 +1,57 @@
+//------------------------------PLACEMENT CLASS-------------------------------//
+//@author Titanjack
+//@project Tetris
+//The Placement class describes one position where the active piece can come
+//to rest, along with the shortest list of commands which moves the piece
+//there from where it currently is and locks it.
+
+package Game;
+
+@SuppressWarnings({"WeakerAccess"})
+public class Placement {
+
+    private int row;
+    private int col;
+    private int orientation;
+    private Command[] path;
+
+    public Placement(int row, int col, int orientation, Command[] path) {
+
+        this.row = row;
+        this.col = col;
+        this.orientation = orientation;
+        this.path = path;
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public int getRow()
+    //public int getCol()
+    //public int getOrientation()
+    //public Command[] getPath()
+
+    //Function: Get Row
+    //@return               the row of the piece's center when it is locked
+    public int getRow() {
+        return row;
+    }
+
+    //Function: Get Col
+    //@return               the column of the piece's center when it is locked
+    public int getCol() {
+        return col;
+    }
+
+    //Function: Get Orientation
+    //@return               the orientation of the piece when it is locked
+    public int getOrientation() {
+        return orientation;
+    }
+
+    //Function: Get Path
+    //@return               the commands which bring the piece to this
+    //                      placement, ending with the hard drop locking it
+    public Command[] getPath() {
+        return path;
+    }
+}
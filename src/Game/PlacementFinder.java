@@ -0,0 +1,216 @@
+//---------------------------PLACEMENT FINDER CLASS---------------------------//
+//@author Titanjack
+//@project Tetris
+//The Placement Finder class lists every position the active piece can reach
+//and come to rest in. It runs a breadth first search over the states of the
+//piece (row, column and orientation), moving it left, right and down and
+//rotating it with the same kicks as the game engine, so tucks and spins are
+//found along with the simple drops. The visited states are kept in a bitset
+//and the search arrays are created once and reused by every search.
+
+package Game;
+
+import Grid.BitGrid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@SuppressWarnings({"WeakerAccess"})
+public class PlacementFinder {
+
+    //The center of a piece can sit up to two cells outside the grid
+    private static final int MARGIN = 2;
+
+    //The moves tried from every state, in order
+    private static final Command[] moves = {
+            Command.LEFT, Command.RIGHT, Command.DOWN, Command.ROTATE_CW,
+            Command.ROTATE_CCW, Command.ROTATE_180
+    };
+
+    private int stateRows;
+    private int stateCols;
+    private long[] visited;
+    private int[] searchQueue;
+    private int[] parent;
+    private byte[] parentMove;
+    private Command[] pathBuffer;
+
+    public PlacementFinder(int rows, int cols) {
+
+        stateRows = rows + MARGIN * 2;
+        stateCols = cols + MARGIN * 2;
+        int states = stateRows * stateCols * 4;
+        visited = new long[(states + 63) >>> 6];
+        searchQueue = new int[states];
+        parent = new int[states];
+        parentMove = new byte[states];
+        pathBuffer = new Command[states];
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public List<Placement> findPlacements(BitGrid board, PieceType pieceType,
+    //                                      int row, int col, int orientation)
+
+    //Function: Find Placements
+    //@param board          the locked blocks of the game
+    //       pieceType      the shape of the piece
+    //       row            the row the piece starts from
+    //       col            the column the piece starts from
+    //       orientation    the orientation the piece starts in
+    //@return               every resting position the piece can reach, in
+    //                      the order they were found
+    public List<Placement> findPlacements(BitGrid board, PieceType pieceType,
+                                          int row, int col, int orientation) {
+
+        List<Placement> placements = new ArrayList<>();
+        if (board.collides(PieceShapes.getMask(pieceType, orientation), row,
+                col))
+            return placements;
+
+        int start = getState(row, col, orientation);
+        int head = 0, tail = 0;
+        markVisited(start);
+        parent[start] = -1;
+        searchQueue[tail++] = start;
+
+        while (head < tail) {
+            int state = searchQueue[head++];
+            int stateRow = getStateRow(state);
+            int stateCol = getStateCol(state);
+            int stateOrientation = getStateOrientation(state);
+
+            if (board.collides(PieceShapes.getMask(pieceType,
+                    stateOrientation), stateRow + 1, stateCol))
+                placements.add(new Placement(stateRow, stateCol,
+                        stateOrientation, buildPath(state)));
+
+            for (int move = 0; move < moves.length; move++) {
+                int next = tryMove(board, pieceType, stateRow, stateCol,
+                        stateOrientation, moves[move]);
+                if (next < 0 || isVisited(next)) continue;
+                markVisited(next);
+                parent[next] = state;
+                parentMove[next] = (byte) move;
+                searchQueue[tail++] = next;
+            }
+        }
+
+        //Only the visited states need to be cleared for the next search
+        for (int i = 0; i < tail; i++)
+            visited[searchQueue[i] >>> 6] = 0;
+        return placements;
+    }
+
+    //----------------------------UTILITY FUNCTION----------------------------//
+    //Function: Try Move
+    //@param board          the locked blocks of the game
+    //       pieceType      the shape of the piece
+    //       row            the row of the piece
+    //       col            the column of the piece
+    //       orientation    the orientation of the piece
+    //       move           the command to be applied
+    //@return               the state the piece ends up in, or -1 if the move
+    //                      is blocked
+    private int tryMove(BitGrid board, PieceType pieceType, int row, int col,
+                        int orientation, Command move) {
+
+        int rowShift = 0, colShift = 0, turns = 0;
+        switch (move) {
+            case LEFT: colShift = -1;
+                break;
+            case RIGHT: colShift = 1;
+                break;
+            case DOWN: rowShift = 1;
+                break;
+            case ROTATE_CW: turns = 1;
+                break;
+            case ROTATE_CCW: turns = 3;
+                break;
+            case ROTATE_180: turns = 2;
+                break;
+        }
+
+        if (turns == 0) {
+            if (board.collides(PieceShapes.getMask(pieceType, orientation),
+                    row + rowShift, col + colShift))
+                return -1;
+        } else {
+            int test = KickTable.findKick(board, pieceType, orientation, turns,
+                    row, col);
+            if (test < 0) return -1;
+            rowShift = KickTable.getRowShift(pieceType, orientation, turns,
+                    test);
+            colShift = KickTable.getColShift(pieceType, orientation, turns,
+                    test);
+        }
+        return getState(row + rowShift, col + colShift,
+                (orientation + turns) & 3);
+    }
+
+    //Function: Build Path
+    //@param state          the resting state of the piece
+    //@return               the moves leading from the start to the state
+    //Walks back through the parents of the state. The steps down at the end of
+    //the path are replaced by a hard drop, which lands the piece in the same
+    //place and locks it.
+    private Command[] buildPath(int state) {
+
+        int length = 0;
+        for (int step = state; parent[step] >= 0; step = parent[step])
+            pathBuffer[length++] = moves[parentMove[step]];
+        int dropStart = 0;
+        while (dropStart < length && pathBuffer[dropStart] == Command.DOWN)
+            dropStart++;
+
+        Command[] path = new Command[length - dropStart + 1];
+        for (int i = 0; i < length - dropStart; i++)
+            path[i] = pathBuffer[length - 1 - i];
+        path[path.length - 1] = Command.HARD_DROP;
+        return path;
+    }
+
+    //Function: Get State
+    //@param row            the row of the piece
+    //       col            the column of the piece
+    //       orientation    the orientation of the piece
+    //@return               the index of the state in the search arrays
+    private int getState(int row, int col, int orientation) {
+        return (orientation * stateRows + row + MARGIN) * stateCols + col +
+                MARGIN;
+    }
+
+    //Function: Get State Row
+    //@param state          the index of the state
+    //@return               the row of the piece in that state
+    private int getStateRow(int state) {
+        return (state / stateCols) % stateRows - MARGIN;
+    }
+
+    //Function: Get State Col
+    //@param state          the index of the state
+    //@return               the column of the piece in that state
+    private int getStateCol(int state) {
+        return state % stateCols - MARGIN;
+    }
+
+    //Function: Get State Orientation
+    //@param state          the index of the state
+    //@return               the orientation of the piece in that state
+    private int getStateOrientation(int state) {
+        return state / (stateCols * stateRows);
+    }
+
+    //Function: Is Visited
+    //@param state          the index of the state
+    //@return               whether the state has been reached by the search
+    private boolean isVisited(int state) {
+        return (visited[state >>> 6] & (1L << state)) != 0;
+    }
+
+    //Function: Mark Visited
+    //@param state          the index of the state
+    private void markVisited(int state) {
+        visited[state >>> 6] |= 1L << state;
+    }
+}
@@ -0,0 +1,31 @@
+//----------------------------RANDOMIZER INTERFACE----------------------------//
+//@author Titanjack
+//@project Tetris
+//The Randomizer interface is implemented by every scheme used to pick the
+//order of the pieces. Each randomizer is seeded when it is created and keeps
+//its own random number generator, so the same seed always deals the same
+//pieces and no two games ever share any state. The state of a randomizer can
+//be saved into an array of numbers and loaded back, so a game can be resumed
+//from a snapshot.
+
+package Game;
+
+public interface Randomizer {
+
+    //The most numbers any randomizer needs to save its state
+    int MAX_STATE_SIZE = 32;
+
+    //Function: Next
+    //@return               the shape of the next piece to be dealt
+    PieceType next();
+
+    //Function: Save State
+    //@param state          the array the state is written to, from index 0
+    //@return               the number of values written
+    int saveState(long[] state);
+
+    //Function: Load State
+    //@param state          an array written by save state on a randomizer of
+    //                      the same type
+    void loadState(long[] state);
+}
@@ -0,0 +1,6 @@
+package Game;
+
+//The schemes which can be used to pick the order of the pieces
+public enum RandomizerType {
+    DUAL_BAG, SEVEN_BAG, HISTORY
+}
@@ -0,0 +1,154 @@
+//-----------------------------RENDER LOOP CLASS------------------------------//
+//@author Titanjack
+//@project Tetris
+//The Render Loop class draws the game into the window itself instead of
+//leaving it to the Swing paint manager. Changes only mark areas of the frame
+//as damaged; at most once a frame the game manager is drawn into a buffer
+//strategy on the window, clipped to the damaged areas, and shown in one go.
+//However many changes are made between two frames, they cost a single paint,
+//and the game is never painted more often than the frame rate. The strategy
+//asks for a back buffer that keeps its contents between frames, so everything
+//outside the damage is still there from the frame before. If the window can
+//only give a buffer which may lose its contents when shown, every frame is
+//drawn whole instead. If a performance overlay is set, the time taken by each
+//frame is recorded into it.
+
+package Game;
+
+import Grid.DamageTracker;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+@SuppressWarnings({"WeakerAccess"})
+public class RenderLoop {
+
+    public static final int DEFAULT_FRAME_RATE = 60;
+
+    private Window window;
+    private Component scene;
+    private BufferStrategy strategy;
+    private boolean keepsContents;
+    private GameScheduler frameClock;
+    private DamageTracker damageTracker;
+    private PerformanceOverlay overlay;
+    private long framesRendered;
+
+    public RenderLoop(Window window, Component scene,
+                      DamageTracker damageTracker) {
+        this(window, scene, damageTracker, DEFAULT_FRAME_RATE);
+    }
+
+    public RenderLoop(Window window, Component scene,
+                      DamageTracker damageTracker, int frameRate) {
+
+        this.window = window;
+        this.scene = scene;
+        this.damageTracker = damageTracker;
+        frameClock = new GameScheduler(this::renderFrame, frameRate);
+        framesRendered = 0;
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public void start()
+    //public void stop()
+    //public void requestRender()
+    //private void renderFrame()
+
+    //Function: Start
+    //Takes over painting of the window and starts the frame clock. Must be
+    //called on the event queue once the window is showing.
+    public void start() {
+
+        window.setIgnoreRepaint(true);
+        scene.setIgnoreRepaint(true);
+        //Page flipping is only used if the flipped buffer is copied back,
+        //otherwise the buffers are blitted
+        ImageCapabilities accelerated = new ImageCapabilities(true);
+        try {
+            window.createBufferStrategy(2, new BufferCapabilities(accelerated,
+                    accelerated, BufferCapabilities.FlipContents.COPIED));
+        } catch (AWTException e) {
+            try {
+                window.createBufferStrategy(2, new BufferCapabilities(
+                        accelerated, accelerated, null));
+            } catch (AWTException ex) {
+                window.createBufferStrategy(2);
+            }
+        }
+        strategy = window.getBufferStrategy();
+        BufferCapabilities capabilities = strategy.getCapabilities();
+        keepsContents = !capabilities.isPageFlipping() ||
+                capabilities.getFlipContents() ==
+                BufferCapabilities.FlipContents.COPIED;
+        damageTracker.addAll();
+        frameClock.start();
+    }
+
+    //Function: Stop
+    //Stops the frame clock and hands painting back to Swing
+    public void stop() {
+
+        frameClock.stop();
+        window.setIgnoreRepaint(false);
+        scene.setIgnoreRepaint(false);
+        scene.repaint();
+    }
+
+    //Function: Request Render
+    //Marks the whole frame as needing to be drawn
+    public void requestRender() {
+        damageTracker.addAll();
+    }
+
+    //Function: Render Frame
+    //Draws the damaged areas of the scene into the back buffer and shows it,
+    //if anything has changed since the last frame. If the buffer was lost
+    //while drawing, or may not have kept the frame before, the whole frame is
+    //drawn.
+    private void renderFrame() {
+
+        long frameStart = System.nanoTime();
+        if (overlay != null) overlay.update(frameStart, damageTracker);
+        if (damageTracker.isEmpty()) return;
+        Shape clip = keepsContents ? damageTracker.getClip() : null;
+        damageTracker.clear();
+        Point origin = SwingUtilities.convertPoint(scene, 0, 0, window);
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                g.translate(origin.x, origin.y);
+                if (clip != null) g.clip(clip);
+                scene.paint(g);
+                g.dispose();
+                //A restored buffer has lost the frame before
+                clip = null;
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+        framesRendered++;
+        if (overlay != null)
+            overlay.recordFrame(System.nanoTime() - frameStart);
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public void setPerformanceOverlay(PerformanceOverlay overlay)
+    //public long getFramesRendered()
+
+    //Function: Set Performance Overlay
+    //@param overlay        the overlay frame times are recorded into, or null
+    public void setPerformanceOverlay(PerformanceOverlay overlay) {
+        this.overlay = overlay;
+    }
+
+    //Function: Get Frames Rendered
+    //@return               the number of frames drawn since the loop was
+    //                      created
+    public long getFramesRendered() {
+        return framesRendered;
+    }
+}
@@ -0,0 +1,70 @@
+//--------------------------SEVEN BAG RANDOMIZER CLASS------------------------//
+//@author Titanjack
+//@project Tetris
+//The Seven Bag Randomizer class deals all seven pieces in a random order
+//before any piece is repeated. The bag is shuffled again in place every time
+//it runs out.
+
+package Game;
+
+import Util.SplitMix;
+
+@SuppressWarnings({"WeakerAccess"})
+public class SevenBagRandomizer implements Randomizer {
+
+    private static final PieceType[] pieceTypes = PieceType.values();
+
+    private SplitMix random;
+    private int[] bag;
+    private int counter;
+
+    public SevenBagRandomizer(long seed) {
+
+        random = new SplitMix(seed);
+        bag = new int[pieceTypes.length];
+        for (int i = 0; i < bag.length; i++)
+            bag[i] = i;
+        counter = bag.length;
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public PieceType next()
+    //public int saveState(long[] state)
+    //public void loadState(long[] state)
+
+    //Function: Next
+    //@return               the next piece in the bag
+    public PieceType next() {
+
+        if (counter == bag.length) {
+            random.shuffle(bag);
+            counter = 0;
+        }
+        return pieceTypes[bag[counter++]];
+    }
+
+    //Function: Save State
+    //@param state          the array the state is written to, from index 0
+    //@return               the number of values written
+    public int saveState(long[] state) {
+
+        int size = 0;
+        state[size++] = random.getState();
+        state[size++] = counter;
+        for (int piece : bag)
+            state[size++] = piece;
+        return size;
+    }
+
+    //Function: Load State
+    //@param state          an array written by save state
+    public void loadState(long[] state) {
+
+        int size = 0;
+        random.setState(state[size++]);
+        counter = (int) state[size++];
+        for (int i = 0; i < bag.length; i++)
+            bag[i] = (int) state[size++];
+    }
+}
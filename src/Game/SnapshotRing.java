@@ -0,0 +1,91 @@
+//----------------------------SNAPSHOT RING CLASS-----------------------------//
+//@author Titanjack
+//@project Tetris
+//The Snapshot Ring class keeps the most recent snapshots of a game, newest
+//last, for rewinding. Every snapshot in the ring is created up front, so
+//taking a snapshot only copies the game into the oldest slot and never
+//allocates. Once the ring is full, each new snapshot overwrites the oldest.
+
+package Game;
+
+@SuppressWarnings({"WeakerAccess"})
+public class SnapshotRing {
+
+    private GameSnapshot[] snapshots;
+    private int head;
+    private int size;
+
+    public SnapshotRing(int capacity, int rows, int cols) {
+
+        snapshots = new GameSnapshot[Math.max(1, capacity)];
+        for (int i = 0; i < snapshots.length; i++)
+            snapshots[i] = new GameSnapshot(rows, cols);
+        head = 0;
+        size = 0;
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public void push(GameEngine engine)
+    //public GameSnapshot peek(int index)
+    //public boolean pop()
+    //public void clear()
+    //public int size()
+    //public int capacity()
+
+    //Function: Push
+    //@param engine         the game to be saved as the newest snapshot
+    public void push(GameEngine engine) {
+
+        int slot = head + size;
+        if (slot >= snapshots.length) slot -= snapshots.length;
+        engine.saveSnapshot(snapshots[slot]);
+        if (size < snapshots.length) {
+            size++;
+        } else {
+            //The oldest snapshot was overwritten, so the ring starts one later
+            head = head + 1 == snapshots.length ? 0 : head + 1;
+        }
+    }
+
+    //Function: Peek
+    //@param index          how far back the snapshot is, 0 being the newest
+    //@return               the snapshot, or null if the ring does not go back
+    //                      that far. The snapshot is reused by later pushes.
+    public GameSnapshot peek(int index) {
+
+        if (index < 0 || index >= size) return null;
+        int slot = head + size - 1 - index;
+        if (slot >= snapshots.length) slot -= snapshots.length;
+        return snapshots[slot];
+    }
+
+    //Function: Pop
+    //@return               whether there was a snapshot to be dropped
+    //Drops the newest snapshot, so the one before it becomes the newest
+    public boolean pop() {
+
+        if (size == 0) return false;
+        size--;
+        return true;
+    }
+
+    //Function: Clear
+    //Drops every snapshot
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    //Function: Size
+    //@return               the number of snapshots held in the ring
+    public int size() {
+        return size;
+    }
+
+    //Function: Capacity
+    //@return               the most snapshots the ring can hold
+    public int capacity() {
+        return snapshots.length;
+    }
+}
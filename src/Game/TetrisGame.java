@@ -22,16 +22,13 @@ public class TetrisGame {
     private static GameState gameState;
     private static GameState lastGameState;
     private static JFrame window;
-    private static int gameCounter;
-    private static int gameLevel;
-    private static int breakInterval;
-    private static int score;
-    private static boolean blockFallBuffer;
     private static GameManager game;
-
-    private static Timer blockBufferTimer;
-    private static Timer levelUpTimer;
-    private static Timer blockFallTimer;
+    private static GameScheduler scheduler;
+    private static RenderLoop renderLoop;
+    //The latest mouse position waiting to be hit tested
+    private static int hoverX;
+    private static int hoverY;
+    private static boolean hoverPending;
 
     private static Clip clip;
 
@@ -71,7 +68,7 @@ public class TetrisGame {
             @Override
             public void keyPressed(KeyEvent e) {
                 if (e.getKeyCode() == KeyEvent.VK_DOWN) {
-                    game.movePiece("down");
+                    game.sendCommand(Command.DOWN);
                 }
             }
 
@@ -82,16 +79,31 @@ public class TetrisGame {
                     repaintGame();
                 } else {
                     if (e.getKeyCode() == KeyEvent.VK_UP) {
-                        game.rotatePiece();
+                        game.sendCommand(Command.ROTATE_CW);
+                    }
+                    if (e.getKeyCode() == KeyEvent.VK_Z) {
+                        game.sendCommand(Command.ROTATE_CCW);
+                    }
+                    if (e.getKeyCode() == KeyEvent.VK_A) {
+                        game.sendCommand(Command.ROTATE_180);
                     }
                     if (e.getKeyCode() == KeyEvent.VK_LEFT) {
-                        game.movePiece("left");
+                        game.sendCommand(Command.LEFT);
                     }
                     if (e.getKeyCode() == KeyEvent.VK_RIGHT) {
-                        game.movePiece("right");
+                        game.sendCommand(Command.RIGHT);
                     }
                     if (e.getKeyCode() == KeyEvent.VK_SPACE) {
-                        game.dropPiece();
+                        game.sendCommand(Command.HARD_DROP);
+                    }
+                    if (e.getKeyCode() == KeyEvent.VK_C) {
+                        game.sendCommand(Command.HOLD);
+                    }
+                    if (e.getKeyCode() == KeyEvent.VK_BACK_SPACE) {
+                        game.sendCommand(Command.UNDO);
+                    }
+                    if (e.getKeyCode() == KeyEvent.VK_F3) {
+                        game.togglePerformanceOverlay();
                     }
                 }
             }
@@ -100,22 +112,36 @@ public class TetrisGame {
         window.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseReleased(MouseEvent e) {
+                //A click is newer than any move still waiting
+                hoverPending = false;
                 game.mouseAction(e.getX(), e.getY(), offsetX, offsetY,
                         MouseAction.RELEASE);
             }
 
             @Override
             public void mousePressed(MouseEvent e) {
+                hoverPending = false;
                 game.mouseAction(e.getX(), e.getY(), offsetX, offsetY,
                         MouseAction.CLICK);
             }
         });
 
+        //Moves which arrive together are hit tested once, at the latest
+        //position, after the events already queued have been handled
         window.addMouseMotionListener(new MouseMotionAdapter() {
             @Override
             public void mouseMoved(MouseEvent e) {
-                game.mouseAction(e.getX(), e.getY(), offsetX, offsetY,
-                        MouseAction.HOVER);
+                hoverX = e.getX();
+                hoverY = e.getY();
+                if (!hoverPending) {
+                    hoverPending = true;
+                    SwingUtilities.invokeLater(() -> {
+                        if (!hoverPending) return;
+                        hoverPending = false;
+                        game.mouseAction(hoverX, hoverY, offsetX, offsetY,
+                                MouseAction.HOVER);
+                    });
+                }
             }
         });
 
@@ -124,6 +150,7 @@ public class TetrisGame {
                 Rectangle newWindow = window.getBounds();
                 game.setDimensions(newWindow.getWidth(),
                         newWindow.getHeight() - 100);
+                repaintGame();
             }
         });
 
@@ -135,51 +162,38 @@ public class TetrisGame {
             }
         });
 
-        blockFallTimer = new Timer(breakInterval, null);
-        blockFallTimer.addActionListener(e -> {
-            //Allows the block to fall every second
-            if (!blockFallBuffer) {
-                game.movePiece("down");
-            }
-        });
-        blockFallTimer.start();
-
-        levelUpTimer = new Timer(60000, null);
-        levelUpTimer.addActionListener(e -> {
-            //Increases the game level and the speed at which the tetris block
-            //falls
-            if (gameLevel < 15 && gameCounter % 1000 == 0) {
-                gameLevel++;
-                breakInterval -= 60;
-                blockFallTimer.setDelay(breakInterval);
-            }
-            if (gameLevel >= 15) levelUpTimer.stop();
-        });
+        //Gravity, lock delay and level ups are counted by the engine, so
+        //the scheduler only has to keep the ticks coming
+        scheduler = new GameScheduler(game::tick);
 
-        blockBufferTimer = new Timer(500, null);
-        blockBufferTimer.addActionListener(e -> {
-            blockFallBuffer = false;
-            blockBufferTimer.stop();
-        });
+        //The game is drawn by the render loop at a steady frame rate rather
+        //than whenever something asks for a repaint
+        renderLoop = new RenderLoop(window, game, game.getDamageTracker());
+        game.setRenderLoop(renderLoop);
+        SwingUtilities.invokeLater(renderLoop::start);
     }
 
     //Function: Restart Game
-    //Resets all game values and the game grid
+    //Restarts the clock which drives the game
     public static void startGame() {
-        gameLevel = 1;
-        gameCounter = 0;
-        score = 0;
-        breakInterval = 1000;
-        blockFallTimer.setDelay(breakInterval);
-        blockFallTimer.start();
-        levelUpTimer.start();
-        resetGameGrid();
+        scheduler.start();
     }
 
     //Function: Repaint Game
-    //Re-renders the contents of the game
+    //Asks for the contents of the game to be re-rendered on the next frame
     public static void repaintGame() {
-        game.repaint();
+        game.requestRender();
+    }
+
+    //Function: Repaint Region
+    //@param posX       the left edge of the area which has changed
+    //       posY       the top edge of the area which has changed
+    //       width      the width of the area
+    //       height     the height of the area
+    //Asks for only part of the game to be re-rendered on the next frame
+    public static void repaintRegion(double posX, double posY, double width,
+                                     double height) {
+        game.requestRender(posX, posY, width, height);
     }
 
     //Function: Reset Game Grid
@@ -189,39 +203,12 @@ public class TetrisGame {
         repaintGame();
     }
 
-    //Function: Add To Score
-    //@param add        the amount to be added to the score board
-    public static void addToScore(int add) {
-        score += add;
-        repaintGame();
-    }
-
-    //Function: Get Game Level
-    //@return           the current level of the player
-    public static int getGameLevel() {
-        return gameLevel;
-    }
-
     //Function: Get Game State
     //@return           the current game state
     public static GameState getGameState() {
         return gameState;
     }
 
-    //Function: Get Score
-    //@return           the current game score
-    public static int getScore() {
-        return score;
-    }
-
-    //Function: Initiate Buffer
-    //Calls for buffer to be activated to prevent a new tetris block from
-    //falling down immediately
-    public static void initiateBuffer() {
-        blockFallBuffer = true;
-        blockBufferTimer.start();
-    }
-
     //Function: Set Sound On
     //@param isOn       whether or not to set the sound on
     //Turns game sounds on or off
@@ -246,13 +233,13 @@ public class TetrisGame {
     //Updates the current game state
     public static void setGameState(GameState gameState) {
         if (gameState.equals(GameState.GAMEOVER)) {
-            blockFallTimer.stop();
-            levelUpTimer.stop();
-            blockBufferTimer.stop();
+            scheduler.stop();
         }
 
         lastGameState = TetrisGame.gameState;
         TetrisGame.gameState = gameState;
         game.updateGame();
+        //A new state can change what is shown anywhere on the screen
+        repaintGame();
     }
 }
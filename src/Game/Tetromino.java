@@ -3,14 +3,15 @@
 //@project Tetris
 //The Tetromino class creates a tetris piece object which contains its position
 //along the grid as well as the coordinates of its individual blocks. It can
-//move in any direction along the grid and rotate clockwise. The tetris piece
+//move in any direction along the grid and rotate both ways. The tetris piece
 //can also perform a simulated move or rotation, where the block's virtual
 //position is updated but can revert back to its original coordinates at any
-//time.
+//time. The layout of the piece is read from the shared piece shape tables, so
+//a tetris piece only holds its position, orientation and type.
 
 package Game;
 
-import java.awt.*;
+import Grid.PieceMask;
 
 @SuppressWarnings({"WeakerAccess", "SpellCheckingInspection", "unused"})
 public class Tetromino {
@@ -22,148 +23,86 @@ public class Tetromino {
     private int orientation;
     private int simOrientation;
     private boolean simulation;
-    private Color pieceColor;
     private PieceType pieceType;
-    private int[][][] pieceLayout;
 
-    public Tetromino(PieceType pieceType, Color pieceColor) {
-        this(0, 0, 0, pieceType, pieceColor);
+    public Tetromino(PieceType pieceType) {
+        this(0, 0, 0, pieceType);
     }
 
-    public Tetromino(int row, int col, PieceType pieceType, Color pieceColor) {
-        this(row, col, 0, pieceType, pieceColor);
+    public Tetromino(int row, int col, PieceType pieceType) {
+        this(row, col, 0, pieceType);
     }
 
-    public Tetromino(int row, int col, int orientation, PieceType pieceType,
-                     Color pieceColor) {
+    public Tetromino(int row, int col, int orientation, PieceType pieceType) {
 
         this.row = row;
         this.col = col;
         this.orientation = orientation;
         simulation = false;
-        this.pieceColor = pieceColor;
         this.pieceType = pieceType;
-
-        switch(pieceType) {
-            //The coordinates of each block composing the tetris piece, which
-            //are relative to the position (center) of the tetris piece.
-            case I: pieceLayout = new int[][][]{
-                    {{0, -1}, {0, 0}, {0, 1}, {0, 2}},
-                    {{-1, 1}, {0, 1}, {1, 1}, {2, 1}},
-                    {{1, -1}, {1, 0}, {1, 1}, {1, 2}},
-                    {{2, 0}, {1, 0}, {0, 0}, {-1, 0}}};
-                break;
-            case J: pieceLayout = new int[][][]{
-                    {{-1, -1}, {0, -1}, {0, 0}, {0, 1}},
-                    {{-1, 1}, {-1, 0}, {0, 0}, {1, 0}},
-                    {{1, 1}, {0, 1}, {0, 0}, {0, -1}},
-                    {{1, -1}, {1, 0}, {0, 0}, {-1, 0}}};
-                break;
-            case L: pieceLayout = new int[][][]{
-                    {{0, -1}, {0, 0}, {0, 1}, {-1, 1}},
-                    {{-1, 0}, {0, 0}, {1, 0}, {1, 1}},
-                    {{0, 1}, {0, 0}, {0, -1}, {1, -1}},
-                    {{1, 0}, {0, 0}, {-1, 0}, {-1, -1}}};
-                break;
-            case O: pieceLayout = new int[][][]{
-                    {{0, 0}, {0, 1}, {1, 0}, {1, 1}},
-                    {{0, 0}, {0, 1}, {1, 0}, {1, 1}},
-                    {{0, 0}, {0, 1}, {1, 0}, {1, 1}},
-                    {{0, 0}, {0, 1}, {1, 0}, {1, 1}}};
-                break;
-            case S: pieceLayout = new int[][][]{
-                    {{-1, 1}, {-1, 0}, {0, 0}, {0, -1}},
-                    {{1, 1}, {0, 1}, {0, 0}, {-1, 0}},
-                    {{1, -1}, {1, 0}, {0, 0}, {0, 1}},
-                    {{-1, -1}, {0, -1}, {0, 0}, {1, 0}}};
-                break;
-            case T: pieceLayout = new int[][][]{
-                    {{0, -1}, {0, 0}, {0, 1}, {1, 0}},
-                    {{-1, 0}, {0, 0}, {0, -1}, {1, 0}},
-                    {{0, 1}, {0, 0}, {-1, 0}, {0, -1}},
-                    {{1, 0}, {0, 0}, {0, 1}, {-1, 0}}};
-                break;
-            case Z: pieceLayout = new int[][][]{
-                    {{-1, -1}, {-1, 0}, {0, 0}, {0, 1}},
-                    {{-1, 1}, {0, 1}, {0, 0}, {1, 0}},
-                    {{1, 1}, {1, 0}, {0, 0}, {0, -1}},
-                    {{1, -1}, {0, -1}, {0, 0}, {-1, 0}}};
-                break;
-        }
     }
 
     //-----------------------------CORE FUNCTIONS-----------------------------//
     //FUNCTION LIST:
-    //public void move(String direction)
-    //public void simulateMove(String direction)
-    //public void rotate()
-    //public void simulateRotate()
+    //public void move(int rowShift, int colShift)
+    //public void simulateMove(int rowShift, int colShift)
+    //public void rotate(int turns)
+    //public void simulateRotate(int turns)
     //public void resetSimulation()
     //public void applySimulation()
-    //public int[][] getCoords()
+    //public int getCells()
+    //public int getCellRow(int index)
+    //public int getCellCol(int index)
 
     //Function: Move
-    //@param direction          the direction along the grid to move
-    //Changes the position values of the tetris piece according to direction
-    //specified
-    public void move(String direction) {
+    //@param rowShift           the number of rows to move down (negative
+    //                          for up)
+    //       colShift           the number of columns to move right (negative
+    //                          for left)
+    //Changes the position values of the tetris piece by the amount specified
+    public void move(int rowShift, int colShift) {
 
         simulation = false;
-        switch (direction) {
-            case "left": col--;
-                break;
-            case "right": col++;
-                break;
-            case "up": row--;
-                break;
-            case "down": row++;
-                break;
-        }
+        row += rowShift;
+        col += colShift;
     }
 
     //Function: Simulate Move
-    //@param direction          the direction along the grid to move
-    //Changes the virtual/simulated position values of the tetris piece
-    //according to the specified direction
-    public void simulateMove(String direction) {
+    //@param rowShift           the number of rows to move down (negative
+    //                          for up)
+    //       colShift           the number of columns to move right (negative
+    //                          for left)
+    //Changes the virtual/simulated position values of the tetris piece by the
+    //amount specified
+    public void simulateMove(int rowShift, int colShift) {
 
-        if (!simulation) {
-            simulation = true;
-            simRow = row;
-            simCol = col;
-            simOrientation = orientation;
-        }
-        switch (direction) {
-            case "left": simCol--;
-                break;
-            case "right": simCol++;
-                break;
-            case "up": simRow--;
-                break;
-            case "down": simRow++;
-                break;
-        }
+        startSimulation();
+        simRow += rowShift;
+        simCol += colShift;
     }
 
     //Function: Rotate
-    //Rotates the tetris piece once in the clockwise direction
-    public void rotate() {
+    //@param turns              the number of clockwise quarter turns: 1 for
+    //                          clockwise, 2 for a half turn and 3 (or -1)
+    //                          for counter-clockwise
+    //Rotates the tetris piece by the given number of quarter turns, clockwise
+    //or counter-clockwise
+    public void rotate(int turns) {
 
         simulation = false;
-        orientation = orientation == 3 ? 0 : (orientation + 1);
+        orientation = (orientation + turns) & 3;
     }
 
-    //Function: Rotate
-    //Simulates a rotation in the clockwise direction
-    public void simulateRotate() {
+    //Function: Simulate Rotate
+    //@param turns              the number of clockwise quarter turns: 1 for
+    //                          clockwise, 2 for a half turn and 3 (or -1)
+    //                          for counter-clockwise
+    //Simulates a rotation by the given number of quarter turns, clockwise or
+    //counter-clockwise
+    public void simulateRotate(int turns) {
 
-        if (!simulation) {
-            simulation = true;
-            simRow = row;
-            simCol = col;
-            simOrientation = orientation;
-        }
-        simOrientation = simOrientation == 3 ? 0 : (simOrientation + 1);
+        startSimulation();
+        simOrientation = (simOrientation + turns) & 3;
     }
 
     //Function: Reset Simulation
@@ -183,25 +122,38 @@ public class Tetromino {
         orientation = simOrientation;
     }
 
-    //Function: Get Coords
-    //@return               the coordinates of the individual blocks which make
-    //                      up the tetris piece in the form of an array
-    //                      Example: {{x, y}, {x, y} ...}
-    public int[][] getCoords() {
-
-        int[][] coords = new int[pieceLayout[0].length][2];
-        //Type means whether the piece is in the simulated state or not
-        int rowType = row, colType = col, orientationType = orientation;
-        if (simulation) {
-            rowType = simRow;
-            colType = simCol;
-            orientationType = simOrientation;
-        }
-        for (int i = 0; i < pieceLayout[0].length; i++) {
-            coords[i][0] = rowType + pieceLayout[orientationType][i][0];
-            coords[i][1] = colType + pieceLayout[orientationType][i][1];
+    //Function: Start Simulation
+    //Copies the real position and orientation to the simulated ones if no
+    //simulated move has been made yet
+    private void startSimulation() {
+
+        if (!simulation) {
+            simulation = true;
+            simRow = row;
+            simCol = col;
+            simOrientation = orientation;
         }
-        return coords;
+    }
+
+    //Function: Get Cells
+    //@return               the offsets of the blocks which make up the tetris
+    //                      piece, packed into an int (see PieceShapes)
+    public int getCells() {
+        return PieceShapes.getCells(pieceType, getOrientation());
+    }
+
+    //Function: Get Cell Row
+    //@param index          which block of the piece, from 0 to 3
+    //@return               the row of the block along the grid
+    public int getCellRow(int index) {
+        return getRow() + PieceShapes.cellRow(getCells(), index);
+    }
+
+    //Function: Get Cell Col
+    //@param index          which block of the piece, from 0 to 3
+    //@return               the column of the block along the grid
+    public int getCellCol(int index) {
+        return getCol() + PieceShapes.cellCol(getCells(), index);
     }
 
     //-----------------------------MISC FUNCTIONS-----------------------------//
@@ -211,7 +163,8 @@ public class Tetromino {
     //public int getRow()
     //public int getCol()
     //public int getOrientation()
-    //public Color getColor()
+    //public int getPaletteIndex()
+    //public PieceMask getMask()
     //public PieceType getType()
 
     //Function: Set Position
@@ -260,10 +213,17 @@ public class Tetromino {
         return simulation ? simOrientation : orientation;
     }
 
-    //Function: Get Color
-    //@return               the color of the tetris piece
-    public Color getColor() {
-        return pieceColor;
+    //Function: Get Palette Index
+    //@return               the palette index of the tetris piece's color
+    public int getPaletteIndex() {
+        return PieceShapes.getPaletteIndex(pieceType);
+    }
+
+    //Function: Get Mask
+    //@return               the collision mask of the tetris piece in its
+    //                      current (or simulated) orientation
+    public PieceMask getMask() {
+        return PieceShapes.getMask(pieceType, getOrientation());
     }
 
     //Function: Get Type
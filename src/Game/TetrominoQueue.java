@@ -1,133 +1,130 @@
 //---------------------------TETROMINO QUEUE CLASS----------------------------//
 //@author Titanjack
 //@project Tetris
-//The Tetromino Queue class creates and stores new randomized pieces to be
-//put into the queue and sent into the game. The randomization of tetrominos
-//is completed by shuffling two arrays containing the list of pieces. In this
-//case, the pieces are represented by numbers 0 through 6. The pieces are then
-//picked between each of the arrays one at a time.
+//The Tetromino Queue class stores the next pieces to be sent into the game.
+//The order of the pieces is picked by a randomizer, which by default is the
+//dual bag randomizer. Every queue has its own seeded randomizer, so a queue
+//created with the same type and seed always deals the same pieces. The
+//upcoming pieces are kept in a ring buffer, so taking a piece out only moves
+//the front of the ring no matter how deep the preview is.
 
 package Game;
 
-import java.awt.*;
-
 @SuppressWarnings({"WeakerAccess"})
-public class TetrominoQueue {
+public class TetrominoQueue implements PiecePreview {
+
+    public static final int MIN_DEPTH = 1;
+    public static final int MAX_DEPTH = 7;
+    public static final int DEFAULT_DEPTH = 2;
 
-    private int[][] randPieces;
-    private int counter;
-    private int currentRow;
-    private static Tetromino[] nextPieces;
+    private RandomizerType randomizerType;
+    private Randomizer randomizer;
+    private PieceType[] nextPieces;
+    private int head;
 
     public TetrominoQueue() {
+        this(System.nanoTime());
+    }
+
+    public TetrominoQueue(long seed) {
+        this(RandomizerType.DUAL_BAG, seed, DEFAULT_DEPTH);
+    }
 
-        randPieces = new int[2][];
-        randPieces[0] = getShuffledArray();
-        randPieces[1] = getShuffledArray();
-        nextPieces = null;
-        counter = 0;
-        currentRow = 0;
+    public TetrominoQueue(RandomizerType randomizerType, long seed,
+                          int depth) {
+
+        this.randomizerType = randomizerType;
+        randomizer = createRandomizer(randomizerType, seed);
+        depth = Math.max(MIN_DEPTH, Math.min(depth, MAX_DEPTH));
+        //Populating the next pieces queue at the beginning of the game
+        nextPieces = new PieceType[depth];
+        for (int i = 0; i < nextPieces.length; i++)
+            nextPieces[i] = randomizer.next();
+        head = 0;
     }
 
     //-----------------------------CORE FUNCTIONS-----------------------------//
     //FUNCTION LIST:
-    //public Tetromino nextPiece(InfoBoard infoBoard)
-    //private Color getColor(PieceType pieceType)
-    //private PieceType getNextRandomPiece()
-
-    //Function: New Tetromino
-    //@param game           an object instance of the current active game
-    //@return               whether the piece was placed successfully or if
-    //                      there was overlap
-    //Places the next tetris piece into the grid
-    public Tetromino nextPiece(InfoBoard infoBoard) {
-
-        Tetromino currentPiece;
-        PieceType randomPiece;
-        if (nextPieces == null) {
-            //Populating the next pieces queue at the beginning of the game
-            randomPiece = getNextRandomPiece();
-            currentPiece = new Tetromino(randomPiece, getColor(randomPiece));
-            nextPieces = new Tetromino[2];
-
-            randomPiece = getNextRandomPiece();
-            nextPieces[0] = new Tetromino(randomPiece, getColor(randomPiece));
-            randomPiece = getNextRandomPiece();
-            nextPieces[1] = new Tetromino(randomPiece, getColor(randomPiece));
-
-            infoBoard.addPieceToQueue(nextPieces[0].getType(),
-                    nextPieces[0].getColor());
-            infoBoard.addPieceToQueue(nextPieces[1].getType(),
-                    nextPieces[1].getColor());
-        } else {
-            //Adding a new random piece to the piece queue and shuffling the
-            //pieces in the queue along
-            currentPiece = nextPieces[0];
-            nextPieces[0] = nextPieces[1];
-
-            randomPiece = getNextRandomPiece();
-            nextPieces[1] = new Tetromino(randomPiece, getColor(randomPiece));
-
-            infoBoard.addPieceToQueue(nextPieces[1].getType(),
-                    nextPieces[1].getColor());
-        }
-        return currentPiece;
+    //public Tetromino nextPiece()
+    //public PieceType peek(int index)
+    //public int size()
+    //public RandomizerType getRandomizerType()
+    //void saveState(GameSnapshot snapshot)
+    //void loadState(GameSnapshot snapshot)
+    //public static Randomizer createRandomizer(RandomizerType randomizerType,
+    //                                          long seed)
+
+    //Function: Next Piece
+    //@return               the piece at the front of the queue
+    //Takes the next piece out of the queue and puts a new random piece in its
+    //slot, which becomes the back of the ring
+    public Tetromino nextPiece() {
+
+        PieceType pieceType = nextPieces[head];
+        nextPieces[head] = randomizer.next();
+        head = head + 1 == nextPieces.length ? 0 : head + 1;
+        return new Tetromino(pieceType);
     }
 
-    //Function: Get Color
-    //@param pieceType          the shape of the piece
-    //@return                   the color which corresponds with that shape
-    //                          piece
-    private Color getColor(PieceType pieceType) {
-
-        switch (pieceType) {
-            case I: return new Color(0, 225, 225);
-            case J: return new Color(0, 0, 225);
-            case L: return new Color(225, 143, 0);
-            case O: return new Color(225, 225, 0);
-            case S: return new Color(0, 225, 0);
-            case T: return new Color(146, 0, 225);
-            case Z: return new Color(225, 0, 0);
-            default: return new Color(0, 0, 0, 0);
-        }
+    //Function: Peek
+    //@param index          the position in the queue, 0 being the next piece
+    //@return               the shape of the piece at that position
+    public PieceType peek(int index) {
+
+        int slot = head + index;
+        if (slot >= nextPieces.length) slot -= nextPieces.length;
+        return nextPieces[slot];
     }
 
-    //Function: Get Next Random Piece
-    //@return               the next piece within the shuffled array
-    //Goes back and forth between the two shuffled arrays to retrieve the next
-    //piece within each array. When the end of array is reached, a new shuffled
-    //array is generated
-    private PieceType getNextRandomPiece() {
-
-        int randSelection;
-        randSelection = randPieces[currentRow][counter];
-        currentRow = currentRow == 0 ? 1 : 0;
-
-        if (currentRow == 1) {
-            counter++;
-            if (counter == randPieces[0].length) {
-                randPieces[0] = getShuffledArray();
-                randPieces[1] = getShuffledArray();
-                counter = 0;
-            }
-        }
-        return PieceType.values()[randSelection];
+    //Function: Size
+    //@return               the number of upcoming pieces held in the queue
+    public int size() {
+        return nextPieces.length;
+    }
+
+    //Function: Get Randomizer Type
+    //@return               the scheme used to pick the order of the pieces
+    public RandomizerType getRandomizerType() {
+        return randomizerType;
+    }
+
+    //Function: Save State
+    //@param snapshot       the snapshot the upcoming pieces and the state of
+    //                      the randomizer are written to
+    void saveState(GameSnapshot snapshot) {
+
+        snapshot.randomizerType = randomizerType.ordinal();
+        snapshot.previewSize = nextPieces.length;
+        snapshot.previewHead = head;
+        for (int i = 0; i < nextPieces.length; i++)
+            snapshot.preview[i] = nextPieces[i].ordinal();
+        snapshot.randomizerStateSize = randomizer.saveState(
+                snapshot.randomizerState);
+    }
+
+    //Function: Load State
+    //@param snapshot       a snapshot taken from a queue with the same
+    //                      randomizer type and depth
+    void loadState(GameSnapshot snapshot) {
+
+        PieceType[] pieceTypes = PieceType.values();
+        head = snapshot.previewHead;
+        for (int i = 0; i < nextPieces.length; i++)
+            nextPieces[i] = pieceTypes[snapshot.preview[i]];
+        randomizer.loadState(snapshot.randomizerState);
     }
 
-    //----------------------------UTILITY FUNCTION----------------------------//
-    //Function: Get Shuffled Array
-    //@return           a shuffled array
-    //Randomly selects indices and swaps the contents at these indices within
-    //the array
-    private int[] getShuffledArray() {
-
-        int[] arr = {0, 1, 2, 3, 4, 5, 6};
-        for (int i = 0; i < arr.length; i++) {
-            int rand = (int)(Math.random() * arr.length);
-            int temp = arr[i];
-            arr[i] = arr[rand];
-            arr[rand] = temp;
+    //Function: Create Randomizer
+    //@param randomizerType the scheme used to pick the order of the pieces
+    //       seed           the seed of the randomizer
+    //@return               a new randomizer of that type
+    public static Randomizer createRandomizer(RandomizerType randomizerType,
+                                              long seed) {
+
+        switch (randomizerType) {
+            case SEVEN_BAG: return new SevenBagRandomizer(seed);
+            case HISTORY: return new HistoryRandomizer(seed);
+            default: return new DualBagRandomizer(seed);
         }
-        return arr;
     }
 }
@@ -0,0 +1,399 @@
+//-------------------------------BIT GRID CLASS-------------------------------//
+//@author Titanjack
+//@project Tetris
+//The Bit Grid class is a compact representation of the locked blocks in the
+//game grid. Each row is stored as one bitmask where bit n is set when column n
+//is occupied, and the color of every cell is kept in a parallel array of
+//palette indices. Collision, full row and spawn checks are done with mask
+//operations against precomputed piece masks. The bitmask of a row doubles as
+//its fill counter, so a row is full when its mask has every column set.
+//Colors are stored in row slots which are looked up through a row index, so
+//clearing rows only moves the row masks and slot indices, never the cells.
+//The grid also keeps the surface of each column, the top most occupied row,
+//so the landing row of a piece can be found with a few lookups.
+//A Zobrist hash of the occupied cells is kept up to date as cells are set and
+//rows are cleared, giving every board a cheap identity for searches. Only
+//occupancy counts towards the hash and equality, not the colors of blocks.
+
+package Grid;
+
+import Util.SplitMix;
+
+@SuppressWarnings({"WeakerAccess"})
+public class BitGrid {
+
+    //Each row is held in a single long
+    public static final int MAX_COLS = 64;
+    //Seeds the hash keys, so grids of the same size always share their keys
+    private static final long KEY_SEED = 0x5A0B2157L;
+
+    private int rows;
+    private int cols;
+    private long fullRow;
+    private long[] rowBits;
+    //The slot in the color array holding the colors of each row
+    private int[] rowSlot;
+    private int[] freeSlots;
+    private byte[] colors;
+    //The top most occupied row of each column, or rows if the column is empty
+    private int[] surface;
+    //The random key of every cell, in row order
+    private long[] cellKeys;
+    private long hash;
+
+    public BitGrid(int rows, int cols) {
+
+        if (cols > MAX_COLS) cols = MAX_COLS;
+        this.rows = rows;
+        this.cols = cols;
+        fullRow = cols == MAX_COLS ? -1L : (1L << cols) - 1;
+        rowBits = new long[rows];
+        rowSlot = new int[rows];
+        freeSlots = new int[rows];
+        for (int row = 0; row < rows; row++)
+            rowSlot[row] = row;
+        colors = new byte[rows * cols];
+        surface = new int[cols];
+        for (int col = 0; col < cols; col++)
+            surface[col] = rows;
+        cellKeys = new long[rows * cols];
+        for (int i = 0; i < cellKeys.length; i++)
+            cellKeys[i] = SplitMix.mix(KEY_SEED + i * 0x9E3779B97F4A7C15L);
+        hash = 0;
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public boolean collides(PieceMask mask, int row, int col)
+    //public void place(PieceMask mask, int row, int col, int colorIndex)
+    //public boolean isRowFull(int row)
+    //public int clearFullRows(int firstRow, int lastRow)
+    //public int getLandingRow(PieceMask mask, int row, int col)
+
+    //Function: Collides
+    //@param mask           the mask of the piece in its current orientation
+    //       row            the row of the piece's center
+    //       col            the column of the piece's center
+    //@return               whether the piece would be out of bounds or overlap
+    //                      any occupied cell at that position
+    public boolean collides(PieceMask mask, int row, int col) {
+
+        int top = row + mask.getMinRow();
+        int left = col + mask.getMinCol();
+        if (top < 0 || left < 0 || row + mask.getMaxRow() >= rows ||
+                col + mask.getMaxCol() >= cols)
+            return true;
+        for (int i = 0; i < mask.getHeight(); i++) {
+            if ((rowBits[top + i] & (mask.getRowBits(i) << left)) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    //Function: Place
+    //@param mask           the mask of the piece in its current orientation
+    //       row            the row of the piece's center
+    //       col            the column of the piece's center
+    //       colorIndex     the palette index of the piece's color
+    //Marks every cell covered by the piece as occupied
+    public void place(PieceMask mask, int row, int col, int colorIndex) {
+
+        int top = row + mask.getMinRow();
+        int left = col + mask.getMinCol();
+        for (int i = 0; i < mask.getHeight(); i++) {
+            long bits = mask.getRowBits(i) << left;
+            hash ^= getRowHash(top + i, bits & ~rowBits[top + i]);
+            rowBits[top + i] |= bits;
+            int slotStart = rowSlot[top + i] * cols;
+            while (bits != 0) {
+                int blockCol = Long.numberOfTrailingZeros(bits);
+                colors[slotStart + blockCol] = (byte) colorIndex;
+                if (top + i < surface[blockCol]) surface[blockCol] = top + i;
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    //Function: Is Row Full
+    //@param row            the row index to be checked
+    //@return               whether every cell in the row is occupied
+    public boolean isRowFull(int row) {
+        return rowBits[row] == fullRow;
+    }
+
+    //Function: Clear Full Rows
+    //@param firstRow       the first row that may have been filled
+    //       lastRow        the last row that may have been filled
+    //@return               the number of rows cleared
+    //Removes every full row within the range and compacts the rows above it
+    //downwards in a single pass. The slots of the cleared rows are emptied and
+    //reused as the new rows at the top of the grid. The hash is updated with
+    //the cells which changed in every row that moved.
+    public int clearFullRows(int firstRow, int lastRow) {
+
+        firstRow = Math.max(firstRow, 0);
+        lastRow = Math.min(lastRow, rows - 1);
+        int numOfRowsCleared = 0;
+        for (int row = firstRow; row <= lastRow; row++)
+            if (rowBits[row] == fullRow) numOfRowsCleared++;
+        if (numOfRowsCleared == 0) return 0;
+
+        //Rows below the range cannot have been filled and do not move
+        int writeRow = lastRow;
+        int freed = 0;
+        for (int readRow = lastRow; readRow >= 0; readRow--) {
+            if (readRow >= firstRow && rowBits[readRow] == fullRow) {
+                freeSlots[freed++] = rowSlot[readRow];
+            } else {
+                hash ^= getRowHash(writeRow, rowBits[writeRow] ^
+                        rowBits[readRow]);
+                rowBits[writeRow] = rowBits[readRow];
+                rowSlot[writeRow] = rowSlot[readRow];
+                writeRow--;
+            }
+        }
+        for (int row = 0; row < freed; row++) {
+            hash ^= getRowHash(row, rowBits[row]);
+            rowBits[row] = 0;
+            rowSlot[row] = freeSlots[row];
+            int slotStart = freeSlots[row] * cols;
+            for (int col = 0; col < cols; col++)
+                colors[slotStart + col] = CellPalette.EMPTY;
+        }
+        updateSurface(fullRow);
+        return numOfRowsCleared;
+    }
+
+    //Function: Get Landing Row
+    //@param mask           the mask of the piece in its current orientation
+    //       row            the row of the piece's center
+    //       col            the column of the piece's center
+    //@return               the lowest row the piece can fall to from its
+    //                      current position without colliding
+    //When every block of the piece is above the surface of its column, the
+    //landing row is read straight from the surface. A piece tucked under an
+    //overhang is instead stepped down one row at a time.
+    public int getLandingRow(PieceMask mask, int row, int col) {
+
+        int left = col + mask.getMinCol();
+        int landingRow = rows - 1 - mask.getMaxRow();
+        boolean aboveSurface = left >= 0 &&
+                left + mask.getWidth() <= cols;
+        for (int i = 0; aboveSurface && i < mask.getWidth(); i++) {
+            int colSurface = surface[left + i];
+            if (row + mask.getColBottom(i) >= colSurface)
+                aboveSurface = false;
+            else
+                landingRow = Math.min(landingRow,
+                        colSurface - 1 - mask.getColBottom(i));
+        }
+        if (aboveSurface) return landingRow;
+
+        landingRow = row;
+        while (!collides(mask, landingRow + 1, col))
+            landingRow++;
+        return landingRow;
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public boolean isOccupied(int row, int col)
+    //public int getColorIndex(int row, int col)
+    //public void setOccupied(int row, int col, int colorIndex)
+    //public void setEmpty(int row, int col)
+    //public void clearAll()
+    //public void saveRows(long[] savedBits, byte[] savedColors)
+    //public void loadRows(long[] savedBits, byte[] savedColors)
+    //public long getRowBits(int row)
+    //public int getRowFill(int row)
+    //public int getSurface(int col)
+    //public long getHash()
+    //public boolean equals(Object other)
+    //public int hashCode()
+    //public int getRows()
+    //public int getCols()
+
+    //Function: Is Occupied
+    //@param row            the row index of the target cell
+    //       col            the column index of the target cell
+    //@return               whether the target cell holds a locked block
+    public boolean isOccupied(int row, int col) {
+        return (rowBits[row] & (1L << col)) != 0;
+    }
+
+    //Function: Get Color Index
+    //@param row            the row index of the target cell
+    //       col            the column index of the target cell
+    //@return               the palette index of the target cell's color
+    public int getColorIndex(int row, int col) {
+        return colors[rowSlot[row] * cols + col];
+    }
+
+    //Function: Set Occupied
+    //@param row            the row index of the target cell
+    //       col            the column index of the target cell
+    //       colorIndex     the palette index of the block's color
+    //Marks the target cell as holding a locked block
+    public void setOccupied(int row, int col, int colorIndex) {
+        if ((rowBits[row] & (1L << col)) == 0)
+            hash ^= cellKeys[row * cols + col];
+        rowBits[row] |= 1L << col;
+        colors[rowSlot[row] * cols + col] = (byte) colorIndex;
+        if (row < surface[col]) surface[col] = row;
+    }
+
+    //Function: Set Empty
+    //@param row            the row index of the target cell
+    //       col            the column index of the target cell
+    //Removes any locked block from the target cell
+    public void setEmpty(int row, int col) {
+        if ((rowBits[row] & (1L << col)) != 0)
+            hash ^= cellKeys[row * cols + col];
+        rowBits[row] &= ~(1L << col);
+        colors[rowSlot[row] * cols + col] = CellPalette.EMPTY;
+        if (row == surface[col]) updateSurface(1L << col);
+    }
+
+    //Function: Clear All
+    //Removes every locked block from the grid
+    public void clearAll() {
+        for (int row = 0; row < rows; row++)
+            rowBits[row] = 0;
+        for (int i = 0; i < colors.length; i++)
+            colors[i] = CellPalette.EMPTY;
+        for (int col = 0; col < cols; col++)
+            surface[col] = rows;
+        hash = 0;
+    }
+
+    //Function: Save Rows
+    //@param savedBits      the array the bitmask of every row is copied to
+    //       savedColors    the array the colors are copied to, row by row
+    //Copies the whole grid out in row order, one row at a time
+    public void saveRows(long[] savedBits, byte[] savedColors) {
+
+        System.arraycopy(rowBits, 0, savedBits, 0, rows);
+        for (int row = 0; row < rows; row++)
+            System.arraycopy(colors, rowSlot[row] * cols, savedColors,
+                    row * cols, cols);
+    }
+
+    //Function: Load Rows
+    //@param savedBits      the bitmask of every row, from save rows
+    //       savedColors    the colors of every row, from save rows
+    //Replaces the whole grid with saved rows. The rows are copied back in
+    //order, so every row goes back to its own slot.
+    public void loadRows(long[] savedBits, byte[] savedColors) {
+
+        System.arraycopy(savedBits, 0, rowBits, 0, rows);
+        System.arraycopy(savedColors, 0, colors, 0, rows * cols);
+        hash = 0;
+        for (int row = 0; row < rows; row++) {
+            rowSlot[row] = row;
+            hash ^= getRowHash(row, rowBits[row]);
+        }
+        updateSurface(fullRow);
+    }
+
+    //Function: Get Row Bits
+    //@param row            the row index
+    //@return               the occupancy bitmask of the row
+    public long getRowBits(int row) {
+        return rowBits[row];
+    }
+
+    //Function: Get Row Fill
+    //@param row            the row index
+    //@return               the number of occupied cells in the row
+    public int getRowFill(int row) {
+        return Long.bitCount(rowBits[row]);
+    }
+
+    //Function: Get Surface
+    //@param col            the column index
+    //@return               the top most occupied row of the column, or the
+    //                      number of rows if the column is empty
+    public int getSurface(int col) {
+        return surface[col];
+    }
+
+    //Function: Get Hash
+    //@return               the Zobrist hash of the occupied cells, which is
+    //                      the same for equal grids of the same size
+    public long getHash() {
+        return hash;
+    }
+
+    //Function: Equals
+    //@param other          the object to be compared to
+    //@return               whether the other object is a grid of the same size
+    //                      with the same cells occupied
+    @Override
+    public boolean equals(Object other) {
+
+        if (this == other) return true;
+        if (!(other instanceof BitGrid)) return false;
+        BitGrid grid = (BitGrid) other;
+        if (grid.rows != rows || grid.cols != cols || grid.hash != hash)
+            return false;
+        for (int row = rows - 1; row >= 0; row--)
+            if (grid.rowBits[row] != rowBits[row]) return false;
+        return true;
+    }
+
+    //Function: Hash Code
+    //@return               the hash folded down to an int
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    //Function: Get Rows
+    //@return               the number of rows in the grid
+    public int getRows() {
+        return rows;
+    }
+
+    //Function: Get Cols
+    //@return               the number of columns in the grid
+    public int getCols() {
+        return cols;
+    }
+
+    //----------------------------UTILITY FUNCTION----------------------------//
+    //Function: Get Row Hash
+    //@param row            the row index
+    //       bits           the columns of the row to be hashed
+    //@return               the keys of those cells combined
+    private long getRowHash(int row, long bits) {
+
+        long rowHash = 0;
+        int rowStart = row * cols;
+        while (bits != 0) {
+            rowHash ^= cellKeys[rowStart + Long.numberOfTrailingZeros(bits)];
+            bits &= bits - 1;
+        }
+        return rowHash;
+    }
+
+    //Function: Update Surface
+    //@param columns        the bitmask of the columns to be recalculated
+    //Finds the top most occupied row of each column in the mask, scanning down
+    //from the top only until every column has been found
+    private void updateSurface(long columns) {
+
+        long pending = columns;
+        for (int row = 0; row < rows && pending != 0; row++) {
+            long found = rowBits[row] & pending;
+            pending &= ~found;
+            while (found != 0) {
+                surface[Long.numberOfTrailingZeros(found)] = row;
+                found &= found - 1;
+            }
+        }
+        while (pending != 0) {
+            surface[Long.numberOfTrailingZeros(pending)] = rows;
+            pending &= pending - 1;
+        }
+    }
+}
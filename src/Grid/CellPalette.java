@@ -0,0 +1,41 @@
+//-----------------------------CELL PALETTE CLASS-----------------------------//
+//@author Titanjack
+//@project Tetris
+//The Cell Palette holds the single shared color object for every block color
+//in the game. Grids only store the palette index of a cell, so colors are never
+//allocated while the game is running. Index 0 is reserved for empty cells and
+//indices 1 through 7 follow the order of the tetris piece types.
+
+package Grid;
+
+import java.awt.*;
+
+@SuppressWarnings({"WeakerAccess"})
+public class CellPalette {
+
+    public static final int EMPTY = 0;
+
+    private static final Color[] colors = {
+            new Color(0, 0, 0, 0),
+            new Color(0, 225, 225),
+            new Color(0, 0, 225),
+            new Color(225, 143, 0),
+            new Color(225, 225, 0),
+            new Color(0, 225, 0),
+            new Color(146, 0, 225),
+            new Color(225, 0, 0)
+    };
+
+    //Function: Get Color
+    //@param index          the palette index of the color
+    //@return               the shared color object at that index
+    public static Color getColor(int index) {
+        return colors[index];
+    }
+
+    //Function: Size
+    //@return               the number of colors in the palette
+    public static int size() {
+        return colors.length;
+    }
+}
@@ -0,0 +1,151 @@
+//-----------------------------CELL SPRITES CLASS-----------------------------//
+//@author Titanjack
+//@project Tetris
+//The Cell Sprites class holds a pre-drawn image of every look a grid cell can
+//have: a block, a block drawn over a cleared cell and an outline for each
+//color of the cell palette, and the grey outline of an empty cell. Cells copy
+//their image with a single draw instead of setting the color and stroke and
+//drawing the shape themselves. The images are only drawn again when the cell
+//size, the color behind the grid or the theme changes.
+
+package Grid;
+
+import Style.Theme;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+@SuppressWarnings({"WeakerAccess"})
+public class CellSprites {
+
+    private double size;
+    private Color background;
+    private Theme theme;
+    private BufferedImage[] blocks;
+    private BufferedImage[] activeBlocks;
+    private BufferedImage[] outlines;
+    private BufferedImage emptyOutline;
+
+    public CellSprites() {
+
+        blocks = new BufferedImage[CellPalette.size()];
+        activeBlocks = new BufferedImage[CellPalette.size()];
+        outlines = new BufferedImage[CellPalette.size()];
+        size = -1;
+    }
+
+    //----------------------------UTILITY FUNCTION----------------------------//
+    //Function: Round
+    //@param num            the number to be rounded
+    //@return               the rounded number
+    private int rnd(double num) {
+        return (int)(num + 0.5);
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public boolean update(double size, Color background)
+    //private BufferedImage drawBlock(Color color, Color background)
+    //private BufferedImage drawOutline(Color color)
+
+    //Function: Update
+    //@param size           the size of each grid cell
+    //       background     the color behind the grid
+    //@return               whether the sprites were drawn again
+    //Draws every sprite again if the cell size, background or theme has
+    //changed
+    public boolean update(double size, Color background) {
+
+        if (size == this.size && background.equals(this.background) &&
+                theme == Theme.getTheme())
+            return false;
+        this.size = size;
+        this.background = background;
+        theme = Theme.getTheme();
+        //Index 0 is the empty cell, which has no block of its own
+        for (int i = 1; i < CellPalette.size(); i++) {
+            blocks[i] = drawBlock(CellPalette.getColor(i), null);
+            activeBlocks[i] = drawBlock(CellPalette.getColor(i), background);
+            outlines[i] = drawOutline(CellPalette.getColor(i));
+        }
+        emptyOutline = drawOutline(theme.getEmptyCellColor());
+        return true;
+    }
+
+    //Function: Draw Block
+    //@param color          the color of the block
+    //       background     the color the rest of the cell is cleared to, or
+    //                      null for just the block
+    //@return               an image of a block, to be drawn two pixels inside
+    //                      the top left of the cell
+    private BufferedImage drawBlock(Color color, Color background) {
+
+        int blockSize = rnd(size - 2);
+        //A cleared cell also covers the gap up to the next cell's outline
+        int imageSize = background == null ? blockSize : rnd(size);
+        BufferedImage image = new BufferedImage(Math.max(1, imageSize),
+                Math.max(1, imageSize), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        if (background != null) {
+            g.setColor(background);
+            g.fillRect(0, 0, imageSize, imageSize);
+        }
+        g.setColor(color);
+        g.fillRect(0, 0, blockSize, blockSize);
+        g.dispose();
+        return image;
+    }
+
+    //Function: Draw Outline
+    //@param color          the color of the outline
+    //@return               an image of an outline, to be drawn at the top left
+    //                      of the cell
+    private BufferedImage drawOutline(Color color) {
+
+        //The stroke reaches past both edges of the outline
+        int imageSize = rnd(size) + 6;
+        BufferedImage image = new BufferedImage(imageSize, imageSize,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setStroke(theme.getOutlineStroke());
+        g.setColor(color);
+        g.drawRect(3, 3, rnd(size - 3), rnd(size - 3));
+        g.dispose();
+        return image;
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public BufferedImage getBlock(int colorIndex)
+    //public BufferedImage getActiveBlock(int colorIndex)
+    //public BufferedImage getOutline(int colorIndex)
+    //public BufferedImage getEmptyOutline()
+
+    //Function: Get Block
+    //@param colorIndex     the palette index of the color of the block
+    //@return               the image of a block of that color
+    public BufferedImage getBlock(int colorIndex) {
+        return blocks[colorIndex];
+    }
+
+    //Function: Get Active Block
+    //@param colorIndex     the palette index of the color of the block
+    //@return               the image of a block of that color which also
+    //                      clears the empty outline under the cell
+    public BufferedImage getActiveBlock(int colorIndex) {
+        return activeBlocks[colorIndex];
+    }
+
+    //Function: Get Outline
+    //@param colorIndex     the palette index of the color of the outline
+    //@return               the image of an outline of that color
+    public BufferedImage getOutline(int colorIndex) {
+        return outlines[colorIndex];
+    }
+
+    //Function: Get Empty Outline
+    //@return               the image of the outline of an empty cell
+    public BufferedImage getEmptyOutline() {
+        return emptyOutline;
+    }
+}
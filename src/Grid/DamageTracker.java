@@ -0,0 +1,190 @@
+//----------------------------DAMAGE TRACKER CLASS----------------------------//
+//@author Titanjack
+//@project Tetris
+//The Damage Tracker class collects the areas of the screen which have changed
+//since the last frame, so only those areas need to be painted again. Each
+//change is added as a rectangle, and rectangles which touch are merged as they
+//come in. If too many separate areas build up, they are merged into the one
+//rectangle around all of them. The whole screen can also be marked, for page
+//changes and other changes which touch everything.
+
+package Grid;
+
+import java.awt.*;
+import java.awt.geom.Area;
+
+@SuppressWarnings({"WeakerAccess"})
+public class DamageTracker {
+
+    //The most separate areas kept before they are merged into one
+    public static final int MAX_REGIONS = 8;
+
+    private int[] left;
+    private int[] top;
+    private int[] right;
+    private int[] bottom;
+    private int regions;
+    private boolean full;
+
+    public DamageTracker() {
+
+        left = new int[MAX_REGIONS];
+        top = new int[MAX_REGIONS];
+        right = new int[MAX_REGIONS];
+        bottom = new int[MAX_REGIONS];
+        regions = 0;
+        full = false;
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public void add(double posX, double posY, double width, double height)
+    //public void addAll()
+    //public void clear()
+    //public Shape getClip()
+    //public Rectangle getBounds()
+    //private void merge(int region)
+
+    //Function: Add
+    //@param posX           the left edge of the changed area
+    //       posY           the top edge of the changed area
+    //       width          the width of the changed area
+    //       height         the height of the changed area
+    //Marks an area as changed. The area is rounded outwards to whole pixels.
+    public void add(double posX, double posY, double width, double height) {
+
+        if (full || width <= 0 || height <= 0) return;
+        int x1 = (int) Math.floor(posX);
+        int y1 = (int) Math.floor(posY);
+        int x2 = (int) Math.ceil(posX + width);
+        int y2 = (int) Math.ceil(posY + height);
+        for (int i = 0; i < regions; i++) {
+            if (x1 <= right[i] && x2 >= left[i] && y1 <= bottom[i] &&
+                    y2 >= top[i]) {
+                left[i] = Math.min(left[i], x1);
+                top[i] = Math.min(top[i], y1);
+                right[i] = Math.max(right[i], x2);
+                bottom[i] = Math.max(bottom[i], y2);
+                merge(i);
+                return;
+            }
+        }
+        if (regions == MAX_REGIONS) {
+            //Out of room, so everything becomes one area
+            for (int i = 1; i < regions; i++) {
+                left[0] = Math.min(left[0], left[i]);
+                top[0] = Math.min(top[0], top[i]);
+                right[0] = Math.max(right[0], right[i]);
+                bottom[0] = Math.max(bottom[0], bottom[i]);
+            }
+            regions = 1;
+            add(x1, y1, x2 - x1, y2 - y1);
+            return;
+        }
+        left[regions] = x1;
+        top[regions] = y1;
+        right[regions] = x2;
+        bottom[regions] = y2;
+        regions++;
+    }
+
+    //Function: Add All
+    //Marks the whole screen as changed
+    public void addAll() {
+        full = true;
+        regions = 0;
+    }
+
+    //Function: Clear
+    //Forgets every change, once they have been painted
+    public void clear() {
+        full = false;
+        regions = 0;
+    }
+
+    //Function: Get Clip
+    //@return               the changed areas as a shape to clip painting to,
+    //                      or null if the whole screen has changed
+    public Shape getClip() {
+
+        if (full) return null;
+        if (regions == 1) return getBounds();
+        Area area = new Area();
+        for (int i = 0; i < regions; i++)
+            area.add(new Area(new Rectangle(left[i], top[i],
+                    right[i] - left[i], bottom[i] - top[i])));
+        return area;
+    }
+
+    //Function: Get Bounds
+    //@return               the rectangle around every changed area, or null if
+    //                      the whole screen has changed
+    public Rectangle getBounds() {
+
+        if (full) return null;
+        if (regions == 0) return new Rectangle();
+        int x1 = left[0], y1 = top[0], x2 = right[0], y2 = bottom[0];
+        for (int i = 1; i < regions; i++) {
+            x1 = Math.min(x1, left[i]);
+            y1 = Math.min(y1, top[i]);
+            x2 = Math.max(x2, right[i]);
+            y2 = Math.max(y2, bottom[i]);
+        }
+        return new Rectangle(x1, y1, x2 - x1, y2 - y1);
+    }
+
+    //Function: Merge
+    //@param region         the area which has just grown
+    //Merges any other area the grown area now touches into it, until none are
+    //left touching
+    private void merge(int region) {
+
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < regions; i++) {
+                if (i == region || left[region] > right[i] ||
+                        right[region] < left[i] || top[region] > bottom[i] ||
+                        bottom[region] < top[i])
+                    continue;
+                left[region] = Math.min(left[region], left[i]);
+                top[region] = Math.min(top[region], top[i]);
+                right[region] = Math.max(right[region], right[i]);
+                bottom[region] = Math.max(bottom[region], bottom[i]);
+                //The last area takes the place of the merged one
+                regions--;
+                left[i] = left[regions];
+                top[i] = top[regions];
+                right[i] = right[regions];
+                bottom[i] = bottom[regions];
+                if (region == regions) region = i;
+                merged = true;
+                break;
+            }
+        }
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public boolean isEmpty()
+    //public boolean isFull()
+    //public int getRegionCount()
+
+    //Function: Is Empty
+    //@return               whether nothing has changed
+    public boolean isEmpty() {
+        return !full && regions == 0;
+    }
+
+    //Function: Is Full
+    //@return               whether the whole screen has changed
+    public boolean isFull() {
+        return full;
+    }
+
+    //Function: Get Region Count
+    //@return               the number of separate changed areas
+    public int getRegionCount() {
+        return regions;
+    }
+}
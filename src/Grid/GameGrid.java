@@ -3,33 +3,78 @@
 //@project Tetris
 //The Game Grid class constructs the tetris game grid with individual grid cells
 //and is responsible for the blocks and tetris pieces as they appear on the
-//.grid
+//grid. Locked blocks are backed by a bit grid so that collision checks can be
+//done with mask operations, while the grid cells hold what is displayed. The
+//bit grid can be shared with a game engine, in which case the game grid acts
+//as a view of the engine's blocks. Every cell whose look changes is reported
+//to the damage tracker, if there is one, so only those cells are repainted.
+//The empty cells and locked blocks are drawn once into a cached image, which
+//is only drawn again when a block locks or a line is cleared. Each paint then
+//copies that image and draws just the active piece and its ghost over it.
+//Every cell is drawn from a set of pre-drawn cell sprites.
 
 package Grid;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 
 @SuppressWarnings({"WeakerAccess"})
 public class GameGrid extends JPanel {
 
     private int rows;
     private int cols;
+    private double posX;
+    private double posY;
     private double cellSize;
     private boolean paintBackground;
     private boolean hideGridBlocks;
     private GridCell[][] grid;
+    private BitGrid board;
+    private DamageTracker damageTracker;
+    private CellSprites sprites;
+    private BufferedImage stackLayer;
+    private int stackX;
+    private int stackY;
+    private boolean stackValid;
 
     public GameGrid(double posX, double posY, double width, double height,
                     double cellSize, int rows, int cols) {
 
         this.rows = rows;
         this.cols = cols;
+        board = new BitGrid(rows, cols);
+        sprites = new CellSprites();
         paintBackground = true;
         hideGridBlocks = false;
         setGridSize(posX, posY, width, height, cellSize, true);
     }
 
+    //----------------------------ASSIST FUNCTION-----------------------------//
+    //Function: Damage Cell
+    //@param row            the row index of the changed cell
+    //       col            the column index of the changed cell
+    //       wasInactive    whether the cell held a locked block before
+    //Reports a cell as changed, including the outline drawn just past its
+    //edges. The cached stack is drawn again if a locked block came or went.
+    private void damageCell(int row, int col, boolean wasInactive) {
+        if (wasInactive || grid[row][col].isInactive())
+            stackValid = false;
+        if (damageTracker != null)
+            damageTracker.add(posX + col * cellSize, posY + row * cellSize,
+                    cellSize + 4, cellSize + 4);
+    }
+
+    //Function: Damage All
+    //Reports every cell of the grid as changed, and has the cached stack drawn
+    //again
+    private void damageAll() {
+        stackValid = false;
+        if (damageTracker != null)
+            damageTracker.add(posX, posY, cols * cellSize + 4,
+                    rows * cellSize + 4);
+    }
+
     //---------------------------MISC FUNCTIONS-------------------------------//
     //FUNCTION LIST:
     //public void setGridSize(double width, double height, double posX,
@@ -37,6 +82,8 @@ public class GameGrid extends JPanel {
     //public void setGridSize(double posX, double posY, double width,
     //                        double height)
     //public void clearAllGridCells()
+    //public void syncBoard()
+    //public void setDamageTracker(DamageTracker damageTracker)
     //public boolean hideGridBlocks()
     //public boolean showGridBlocks()
     //public boolean isActive(int row, int col)
@@ -45,12 +92,15 @@ public class GameGrid extends JPanel {
     //public boolean isHighlighted(int row, int col)
     //public double getGridWidth()
     //public double getGridHeight()
-    //public void setActive(int row, int col, Color pieceColor)
-    //public void setInactive(int row, int col, Color pieceColor)
+    //public void setActive(int row, int col, int colorIndex)
+    //public void setInactive(int row, int col, int colorIndex)
     //public void setEmpty(int row, int col)
-    //public void setHighlighted(int row, int col, Color pieceColor)
+    //public void setHighlighted(int row, int col, int colorIndex)
     //public void setPaintBackground(boolean paintBackground)
-    //public Color getColor(int row, int col)
+    //public int getColorIndex(int row, int col)
+    //public BitGrid getBoard()
+    //public void setBoard(BitGrid board)
+    //private void paintStack()
     //public void paint(Graphics g)
     //public String toString()
 
@@ -73,6 +123,8 @@ public class GameGrid extends JPanel {
         if (cellSize == 0)
             cellSize = (height / rows) > (width / cols) ? (width / cols)
                     : (height / rows);
+        this.posX = posX;
+        this.posY = posY;
         this.cellSize = cellSize;
         if (initialize)
             grid = new GridCell[rows][cols];
@@ -86,6 +138,7 @@ public class GameGrid extends JPanel {
                             cellSize, posY + row * cellSize);
             }
         }
+        damageAll();
     }
 
     //Function: Set Grid Size
@@ -103,21 +156,55 @@ public class GameGrid extends JPanel {
     //Function: Clear All Grid Cells
     //Sets all grid cells in the grid to be empty
     public void clearAllGridCells() {
+        board.clearAll();
         for (int row = 0; row < rows; row++) {
             for (int col = 0; col < cols; col++) {
-                if (!grid[row][col].isEmpty()) {
-                    grid[row][col].setEmpty();
-                }
+                boolean wasInactive = grid[row][col].isInactive();
+                if (grid[row][col].setEmpty())
+                    damageCell(row, col, wasInactive);
             }
         }
     }
 
+    //Function: Sync Board
+    //Sets every grid cell to display the locked blocks of the bit grid,
+    //clearing any active or highlighted cells
+    public void syncBoard() {
+        syncRows(rows - 1);
+    }
+
+    //Function: Sync Rows
+    //@param lastRow        the last row to be refreshed
+    //Refreshes the grid cells from the top row to the last row specified
+    private void syncRows(int lastRow) {
+        for (int row = 0; row <= lastRow; row++) {
+            for (int col = 0; col < cols; col++) {
+                boolean changed;
+                boolean wasInactive = grid[row][col].isInactive();
+                if (board.isOccupied(row, col))
+                    changed = grid[row][col].setInactive(
+                            board.getColorIndex(row, col));
+                else
+                    changed = grid[row][col].setEmpty();
+                if (changed) damageCell(row, col, wasInactive);
+            }
+        }
+    }
+
+    //Function: Set Damage Tracker
+    //@param damageTracker  the tracker the changed cells are reported to
+    public void setDamageTracker(DamageTracker damageTracker) {
+        this.damageTracker = damageTracker;
+        damageAll();
+    }
+
     //Function: Hide Grid Blocks
     //@return           whether the grid was already hidden
     //Sets all cells to hidden state meaning their color will not show
     public boolean hideGridBlocks() {
         if (!hideGridBlocks) {
             hideGridBlocks = true;
+            damageAll();
             return true;
         }
         return false;
@@ -129,6 +216,7 @@ public class GameGrid extends JPanel {
     public boolean showGridBlocks() {
         if (hideGridBlocks) {
             hideGridBlocks = false;
+            damageAll();
             return true;
         }
         return false;
@@ -148,7 +236,7 @@ public class GameGrid extends JPanel {
     //       col            the column index of the target cell
     //@return               whether the target cell is inactive
     public boolean isInactive(int row, int col) {
-        return grid[row][col].isInactive();
+        return board.isOccupied(row, col);
     }
 
     //Function: Is Empty
@@ -186,19 +274,24 @@ public class GameGrid extends JPanel {
     //Function: Set Active
     //@param row            the row index of the target cell
     //       col            the column index of the target cell
-    //       pieceColor     the color to be displayed by the cell
+    //       colorIndex     the palette index of the color to be displayed
     //Updates the target cell state to active
-    public void setActive(int row, int col, Color pieceColor) {
-        grid[row][col].setActive(pieceColor);
+    public void setActive(int row, int col, int colorIndex) {
+        boolean wasInactive = grid[row][col].isInactive();
+        if (grid[row][col].setActive(colorIndex))
+            damageCell(row, col, wasInactive);
     }
 
     //Function: Set Inactive
     //@param row            the row index of the target cell
     //       col            the column index of the target cell
-    //       pieceColor     the color to be displayed by the cell
+    //       colorIndex     the palette index of the color to be displayed
     //Updates the target cell state to inactive
-    public void setInactive(int row, int col, Color pieceColor) {
-        grid[row][col].setInactive(pieceColor);
+    public void setInactive(int row, int col, int colorIndex) {
+        board.setOccupied(row, col, colorIndex);
+        boolean wasInactive = grid[row][col].isInactive();
+        if (grid[row][col].setInactive(colorIndex))
+            damageCell(row, col, wasInactive);
     }
 
     //Function: Set Empty
@@ -206,44 +299,100 @@ public class GameGrid extends JPanel {
     //       col            the column index of the target cell
     //Updates the target cell state to empty
     public void setEmpty(int row, int col) {
-        grid[row][col].setEmpty();
+        board.setEmpty(row, col);
+        boolean wasInactive = grid[row][col].isInactive();
+        if (grid[row][col].setEmpty()) damageCell(row, col, wasInactive);
     }
 
     //Function: Set Highlighted
     //@param row            the row index of the target cell
     //       col            the column index of the target cell
-    //       pieceColor     the color to be displayed by the cell
+    //       colorIndex     the palette index of the color to be displayed
     //Updates the target cell state to highlighted
-    public void setHighlighted(int row, int col, Color pieceColor) {
-        grid[row][col].setHighlighted(pieceColor);
+    public void setHighlighted(int row, int col, int colorIndex) {
+        boolean wasInactive = grid[row][col].isInactive();
+        if (grid[row][col].setHighlighted(colorIndex))
+            damageCell(row, col, wasInactive);
     }
 
     //Function: Set Paint Background
     //@param paintBackground
     //                      whether or not to show the grid when empty
     public void setPaintBackground(boolean paintBackground) {
-        this.paintBackground = paintBackground;
+        if (this.paintBackground != paintBackground) {
+            this.paintBackground = paintBackground;
+            damageAll();
+        }
     }
 
-    //Function: Get Color
+    //Function: Get Color Index
     //@param row            the row index of the target cell
     //       col            the column index of the target cell
-    //@return               the color of the target cell
-    public Color getColor(int row, int col) {
-        return grid[row][col].getColor();
+    //@return               the palette index of the target cell's locked block
+    public int getColorIndex(int row, int col) {
+        return board.getColorIndex(row, col);
+    }
+
+    //Function: Get Board
+    //@return               the bit grid holding the locked blocks
+    public BitGrid getBoard() {
+        return board;
+    }
+
+    //Function: Set Board
+    //@param board          the bit grid to be displayed, which must have the
+    //                      same number of rows and columns as this grid
+    //Shares the locked blocks of another bit grid, such as the one owned by a
+    //game engine
+    public void setBoard(BitGrid board) {
+        this.board = board;
+        syncBoard();
+    }
+
+    //Function: Paint Stack
+    //Draws the empty cells and locked blocks into the cached stack image,
+    //creating the image again if the grid has changed size
+    private void paintStack() {
+
+        stackX = (int) Math.floor(posX);
+        stackY = (int) Math.floor(posY);
+        //The outlines reach a few pixels past the last cell
+        int width = (int) Math.ceil(posX + cols * cellSize) + 5 - stackX;
+        int height = (int) Math.ceil(posY + rows * cellSize) + 5 - stackY;
+        if (stackLayer == null || stackLayer.getWidth() != width ||
+                stackLayer.getHeight() != height)
+            stackLayer = new BufferedImage(width, height,
+                    BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = stackLayer.createGraphics();
+        g.setColor(getBackground());
+        g.fillRect(0, 0, width, height);
+        g.translate(-stackX, -stackY);
+        for (GridCell[] gridRow : grid)
+            for (GridCell cell : gridRow)
+                cell.paintBase(g, sprites, paintBackground,
+                        hideGridBlocks);
+        g.dispose();
+        stackValid = true;
     }
 
     //Function: Paint
     //@param g              the graphics component
-    //Renders the individual grid cells in the grid
+    //Renders the cached stack of locked blocks, then the active and
+    //highlighted cells over it
     @Override
     public void paint(Graphics g) {
 
         super.paintComponent(g);
         if (grid != null) {
+            if (sprites.update(cellSize, getBackground()))
+                stackValid = false;
+            if (!stackValid) paintStack();
+            g.drawImage(stackLayer, stackX, stackY, null);
+            if (hideGridBlocks) return;
             for (GridCell[] gridRow : grid)
                 for (GridCell cell: gridRow) {
-                    cell.paint(g, paintBackground, hideGridBlocks);
+                    if (cell.isActive() || cell.isHighlighted())
+                        cell.paintPiece(g, sprites);
                 }
         }
     }
@@ -13,21 +13,22 @@ import java.awt.*;
 @SuppressWarnings({"WeakerAccess"})
 public class GridCell extends JPanel {
 
-    private Color color;
+    private int colorIndex;
     private CellState state;
     private double size;
     private double posX;
     private double posY;
+    private CellSprites sprites;
 
     public GridCell(double size, double posX, double posY) {
-        this(CellState.EMPTY, size, posX, posY, null);
+        this(CellState.EMPTY, size, posX, posY, CellPalette.EMPTY);
     }
 
     public GridCell(CellState state, double size, double posX, double posY,
-                    Color color) {
+                    int colorIndex) {
 
         this.state = state;
-        this.color = color;
+        this.colorIndex = colorIndex;
         setCellSize(size, posX, posY);
     }
 
@@ -41,54 +42,65 @@ public class GridCell extends JPanel {
 
     //-----------------------------MISC FUNCTIONS-----------------------------//
     //FUNCTION LIST:
-    //public void setActive(Color color)
-    //public void setInactive(Color color)
-    //public void setEmpty()
-    //public void setHighlighted(Color color)
+    //public boolean setActive(int colorIndex)
+    //public boolean setInactive(int colorIndex)
+    //public boolean setEmpty()
+    //public boolean setHighlighted(int colorIndex)
+    //private boolean setState(CellState state, int colorIndex)
     //public void setCellSize(double size, double posX, double posY)
     //public boolean isActive()
     //public boolean isInactive()
     //public boolean isEmpty()
     //public boolean isHighlighted()
     //public Color getColor()
-    //public void paint(Graphics g, boolean paintBackGround)
+    //public int getColorIndex()
+    //public void paintBase(Graphics g, CellSprites sprites,
+    //                      boolean paintBackGround, boolean hideGridBlocks)
+    //public void paintPiece(Graphics g, CellSprites sprites)
     //public void paint(Graphics g)
     //public String toString()
 
     //Function: Set Active
-    //@param color          the color to be displayed by the cell
+    //@param colorIndex     the palette index of the color to be displayed
+    //@return               whether the look of the cell has changed
     //Sets the cell state to active
-    public void setActive(Color color) {
-
-        state = CellState.ACTIVE;
-        this.color = color;
+    public boolean setActive(int colorIndex) {
+        return setState(CellState.ACTIVE, colorIndex);
     }
 
     //Function: Set Inactive
-    //@param color          the color to be displayed by the cell
+    //@param colorIndex     the palette index of the color to be displayed
+    //@return               whether the look of the cell has changed
     //Sets the cell state to inactive
-    public void setInactive(Color color) {
-
-        state = CellState.INACTIVE;
-        this.color = color;
+    public boolean setInactive(int colorIndex) {
+        return setState(CellState.INACTIVE, colorIndex);
     }
 
     //Function: Set Empty
-    //@param color          the color to be displayed by the cell
+    //@return               whether the look of the cell has changed
     //Sets the cell state to empty
-    public void setEmpty() {
-
-        state = CellState.EMPTY;
-        this.color = null;
+    public boolean setEmpty() {
+        return setState(CellState.EMPTY, CellPalette.EMPTY);
     }
 
     //Function: Set Highlighted
-    //@param color          the color to be displayed by the cell
+    //@param colorIndex     the palette index of the color to be displayed
+    //@return               whether the look of the cell has changed
     //Sets the cell state to highlighted
-    public void setHighlighted(Color color) {
+    public boolean setHighlighted(int colorIndex) {
+        return setState(CellState.HIGHLIGHTED, colorIndex);
+    }
+
+    //Function: Set State
+    //@param state          the new state of the cell
+    //       colorIndex     the palette index of the color to be displayed
+    //@return               whether the state or color has changed
+    private boolean setState(CellState state, int colorIndex) {
 
-        state = CellState.HIGHLIGHTED;
-        this.color = color;
+        if (this.state == state && this.colorIndex == colorIndex) return false;
+        this.state = state;
+        this.colorIndex = colorIndex;
+        return true;
     }
 
     //Function: Set Cell Size
@@ -130,40 +142,64 @@ public class GridCell extends JPanel {
     //Function: Get Color
     //@return               the current color of the grid cell
     public Color getColor() {
-        return color;
+        return CellPalette.getColor(colorIndex);
+    }
+
+    //Function: Get Color Index
+    //@return               the palette index of the current color of the grid
+    //                      cell
+    public int getColorIndex() {
+        return colorIndex;
+    }
+
+    //Function: Paint Base
+    //@param g              the graphics component
+    //       sprites        the pre-drawn images of each look of a cell
+    //       paintBackGround
+    //                      whether empty cells show their outline
+    //       hideGridBlocks whether every cell is shown as empty
+    //Renders only the part of the cell which changes when blocks lock: a
+    //locked block, or otherwise the outline of an empty cell. Active and
+    //highlighted cells are drawn as empty, to be painted over each frame by
+    //paint piece.
+    public void paintBase(Graphics g, CellSprites sprites,
+                          boolean paintBackGround, boolean hideGridBlocks) {
+
+        if (!hideGridBlocks && isInactive())
+            g.drawImage(sprites.getBlock(colorIndex), rnd(posX + 2),
+                    rnd(posY + 2), null);
+        else if (paintBackGround || hideGridBlocks)
+            g.drawImage(sprites.getEmptyOutline(), rnd(posX + 2) - 2,
+                    rnd(posY + 2) - 2, null);
+    }
+
+    //Function: Paint Piece
+    //@param g              the graphics component
+    //       sprites        the pre-drawn images of each look of a cell
+    //Renders an active or highlighted cell over the base drawn by paint base.
+    //An active cell also clears the empty outline beneath it, which lies
+    //between its own block and the outlines of the cells next to it.
+    public void paintPiece(Graphics g, CellSprites sprites) {
+
+        if (isActive())
+            g.drawImage(sprites.getActiveBlock(colorIndex), rnd(posX + 2),
+                    rnd(posY + 2), null);
+        else if (isHighlighted())
+            g.drawImage(sprites.getOutline(colorIndex), rnd(posX + 2) - 2,
+                    rnd(posY + 2) - 2, null);
     }
 
     //Function: Paint
-    //@return               renders the grid cell as a square with specified
-    //                      color
-    public void paint(Graphics g, boolean paintBackGround,
-                      boolean hideGridBlocks) {
-
-        super.paintComponent(g);
-        if (!hideGridBlocks && (isActive() || isInactive())) {
-            g.setColor(color);
-            g.fillRect(rnd(posX + 2), rnd(posY + 2),
-                    rnd(size - 2), rnd(size - 2));
-        } else {
-            if (isHighlighted() || (isEmpty() && paintBackGround)
-                    || hideGridBlocks) {
-                Graphics2D g2d = (Graphics2D)g;
-                g2d.setStroke(new BasicStroke(3));
-                g2d.setColor(isEmpty() || hideGridBlocks ?
-                        new Color(219, 219, 219, 255) : color);
-                g2d.drawRect(rnd(posX + 3), rnd(posY + 3),
-                        rnd(size - 3), rnd(size - 3));
-                g2d.setStroke(new BasicStroke(1));
-            }
-        }
-    }
-
-    //Function: Paint
-    //@return               renders the grid cell as a square with specified
-    //                      color
+    //@param g              the graphics component
+    //Renders the grid cell on its own, with the outline of an empty cell
+    //showing, from a set of sprites kept by the cell
     @Override
     public void paint(Graphics g) {
-        paint(g, true, false);
+
+        if (sprites == null) sprites = new CellSprites();
+        sprites.update(size, getBackground());
+        paintBase(g, sprites, true, false);
+        paintPiece(g, sprites);
     }
 
     //Function: To String
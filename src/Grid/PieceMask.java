@@ -0,0 +1,112 @@
+//------------------------------PIECE MASK CLASS------------------------------//
+//@author Titanjack
+//@project Tetris
+//The Piece Mask class stores the shape of a tetris piece in one orientation as
+//a set of row bitmasks. Masks are built once from the block offsets of the
+//piece and are then tested against the rows of a bit grid, so a collision
+//check never has to look at the individual blocks again. The lowest block of
+//each column is also kept so the landing row of a piece can be read from the
+//surface of the grid.
+
+package Grid;
+
+@SuppressWarnings({"WeakerAccess"})
+public class PieceMask {
+
+    private int minRow;
+    private int maxRow;
+    private int minCol;
+    private int maxCol;
+    //Bit n of each row is set when the block at column offset (minCol + n)
+    //is part of the piece
+    private long[] rowBits;
+    //The largest row offset of the blocks in each column, counted from minCol
+    private int[] colBottom;
+
+    public PieceMask(int[][] offsets) {
+
+        minRow = Integer.MAX_VALUE;
+        maxRow = Integer.MIN_VALUE;
+        minCol = Integer.MAX_VALUE;
+        maxCol = Integer.MIN_VALUE;
+        for (int[] offset : offsets) {
+            minRow = Math.min(minRow, offset[0]);
+            maxRow = Math.max(maxRow, offset[0]);
+            minCol = Math.min(minCol, offset[1]);
+            maxCol = Math.max(maxCol, offset[1]);
+        }
+        rowBits = new long[maxRow - minRow + 1];
+        for (int[] offset : offsets)
+            rowBits[offset[0] - minRow] |= 1L << (offset[1] - minCol);
+        colBottom = new int[maxCol - minCol + 1];
+        for (int i = 0; i < colBottom.length; i++)
+            colBottom[i] = Integer.MIN_VALUE;
+        for (int[] offset : offsets)
+            colBottom[offset[1] - minCol] = Math.max(
+                    colBottom[offset[1] - minCol], offset[0]);
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public int getMinRow()
+    //public int getMaxRow()
+    //public int getMinCol()
+    //public int getMaxCol()
+    //public int getHeight()
+    //public int getWidth()
+    //public long getRowBits(int index)
+    //public int getColBottom(int index)
+
+    //Function: Get Min Row
+    //@return               the smallest row offset of the piece's blocks
+    public int getMinRow() {
+        return minRow;
+    }
+
+    //Function: Get Max Row
+    //@return               the largest row offset of the piece's blocks
+    public int getMaxRow() {
+        return maxRow;
+    }
+
+    //Function: Get Min Col
+    //@return               the smallest column offset of the piece's blocks
+    public int getMinCol() {
+        return minCol;
+    }
+
+    //Function: Get Max Col
+    //@return               the largest column offset of the piece's blocks
+    public int getMaxCol() {
+        return maxCol;
+    }
+
+    //Function: Get Height
+    //@return               the number of rows the piece spans
+    public int getHeight() {
+        return rowBits.length;
+    }
+
+    //Function: Get Width
+    //@return               the number of columns the piece spans
+    public int getWidth() {
+        return colBottom.length;
+    }
+
+    //Function: Get Row Bits
+    //@param index          the row of the mask, counted from the top row of
+    //                      the piece
+    //@return               the bitmask of that row, aligned to the leftmost
+    //                      column of the piece
+    public long getRowBits(int index) {
+        return rowBits[index];
+    }
+
+    //Function: Get Col Bottom
+    //@param index          the column of the mask, counted from the leftmost
+    //                      column of the piece
+    //@return               the row offset of the lowest block in that column
+    public int getColBottom(int index) {
+        return colBottom[index];
+    }
+}
@@ -3,11 +3,14 @@
 //@project Tetris
 //The button object contains all the properties of the button including it's
 //location on the screen, its size, display text, what type of button it is,
-//which screen it is supposed to appear on, and what it will do once clicked
+//which screen it is supposed to appear on, and what it will do once clicked.
+//Whenever the look of the button changes, its area is marked to be repainted.
 
 package Input;
 
 import Game.GameState;
+import Game.TetrisGame;
+import Style.Theme;
 
 import javax.swing.*;
 import java.awt.*;
@@ -262,6 +265,7 @@ public class Button extends JPanel{
     //                          button
     //Records if the button is being hovered by a mouse
     public void setHovered(boolean isHovered) {
+        if (this.isHovered != isHovered) repaintButton();
         this.isHovered = isHovered;
     }
 
@@ -271,6 +275,7 @@ public class Button extends JPanel{
     //Records whether the button is clicked and executes internal actions if
     //clicked
     public void setClicked(boolean isClicked) {
+        if (this.isClicked != isClicked) repaintButton();
         this.isClicked = isClicked;
     }
 
@@ -278,9 +283,16 @@ public class Button extends JPanel{
     //@param altState           whether the button is in alternate/clicked state
     //Changes the button state to the specified state
     public void setAltState(boolean altState) {
+        if (this.altState != altState) repaintButton();
         this.altState = altState;
     }
 
+    //Function: Repaint Button
+    //Marks the area of the button to be repainted on the next frame
+    private void repaintButton() {
+        TetrisGame.repaintRegion(posX, posY, width, height);
+    }
+
     //Function: Set Horizontal Fixed
     //@param horizontalSlide    whether the button can move horizontally
     //Sets the button's ability to dynamically move horizontally
@@ -385,18 +397,14 @@ public class Button extends JPanel{
     //the button is being hovered on or clicked on
     @Override
     public void paint(Graphics g) {
-        if (isClicked)
-            g.setColor(new Color(147, 147, 147));
-        else if (isHovered)
-            g.setColor(new Color(177, 177, 177));
-        else
-            g.setColor(new Color(209, 209, 209));
+        Theme theme = Theme.getTheme();
+        g.setColor(theme.getButtonColor(isHovered, isClicked));
 
         g.fillRect((int)posX, (int)posY, (int)width, (int)height);
-        g.setColor(new Color(114, 114, 114));
-        g.setFont(new Font("Arial", Font.BOLD, 27));
-        int textWidth = g.getFontMetrics().stringWidth(altState ? altText :
-                text);
+        g.setColor(theme.getTextColor());
+        g.setFont(theme.getBodyFont());
+        int textWidth = theme.getMetrics(theme.getBodyFont()).stringWidth(
+                altState ? altText : text);
         g.drawString(altState ? altText : text, (int)(posX - textWidth / 2.0 +
                         width / 2), (int)posY + 35);
     }
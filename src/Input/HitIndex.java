@@ -0,0 +1,136 @@
+//------------------------------HIT INDEX CLASS-------------------------------//
+//@author Titanjack
+//@project Tetris
+//The Hit Index class finds the element under the mouse, such as a link or a
+//button, without testing every element on the page. Each element is added with
+//one or more rectangles, which are sorted by their top edge once every element
+//has been added. A binary search then finds the last rectangle which starts
+//above the mouse, and only the rectangles before it which are still tall
+//enough to reach the mouse are tested. As elements are laid out in rows, that
+//is usually just the elements on the row under the mouse.
+
+package Input;
+
+import java.util.Arrays;
+
+@SuppressWarnings({"WeakerAccess", "unchecked"})
+public class HitIndex<T> {
+
+    private double[] left;
+    private double[] top;
+    private double[] right;
+    private double[] bottom;
+    private Object[] owners;
+    private int size;
+    private double maxHeight;
+    private boolean sorted;
+
+    public HitIndex() {
+
+        left = new double[8];
+        top = new double[8];
+        right = new double[8];
+        bottom = new double[8];
+        owners = new Object[8];
+        clear();
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public void add(T owner, double posX, double posY, double width,
+    //                double height)
+    //public void clear()
+    //public T find(double posX, double posY)
+    //private void sort()
+
+    //Function: Add
+    //@param owner          the element the rectangle belongs to
+    //       posX           the left edge of the rectangle
+    //       posY           the top edge of the rectangle
+    //       width          the width of the rectangle
+    //       height         the height of the rectangle
+    public void add(T owner, double posX, double posY, double width,
+                    double height) {
+
+        if (size == top.length) {
+            left = Arrays.copyOf(left, size * 2);
+            top = Arrays.copyOf(top, size * 2);
+            right = Arrays.copyOf(right, size * 2);
+            bottom = Arrays.copyOf(bottom, size * 2);
+            owners = Arrays.copyOf(owners, size * 2);
+        }
+        left[size] = posX;
+        top[size] = posY;
+        right[size] = posX + width;
+        bottom[size] = posY + height;
+        owners[size] = owner;
+        maxHeight = Math.max(maxHeight, height);
+        size++;
+        sorted = false;
+    }
+
+    //Function: Clear
+    //Removes every rectangle, so the elements can be added again once they
+    //have moved
+    public void clear() {
+
+        Arrays.fill(owners, 0, size, null);
+        size = 0;
+        maxHeight = 0;
+        sorted = true;
+    }
+
+    //Function: Find
+    //@param posX           the x position to be tested
+    //       posY           the y position to be tested
+    //@return               an element with a rectangle strictly containing the
+    //                      position, or null if there is none
+    public T find(double posX, double posY) {
+
+        if (!sorted) sort();
+        //Find the first rectangle whose top edge is not above the position
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (top[mid] < posY) low = mid + 1;
+            else high = mid;
+        }
+        //Every rectangle before it starts above the position, but only those
+        //within the tallest height of it can reach down to the position
+        for (int i = low - 1; i >= 0 && top[i] > posY - maxHeight; i--)
+            if (posX > left[i] && posX < right[i] && posY < bottom[i])
+                return (T) owners[i];
+        return null;
+    }
+
+    //Function: Sort
+    //Sorts the rectangles by their top edge
+    private void sort() {
+
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++)
+            order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(top[a], top[b]));
+        double[] oldLeft = left.clone(), oldTop = top.clone(),
+                oldRight = right.clone(), oldBottom = bottom.clone();
+        Object[] oldOwners = owners.clone();
+        for (int i = 0; i < size; i++) {
+            left[i] = oldLeft[order[i]];
+            top[i] = oldTop[order[i]];
+            right[i] = oldRight[order[i]];
+            bottom[i] = oldBottom[order[i]];
+            owners[i] = oldOwners[order[i]];
+        }
+        sorted = true;
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public int size()
+
+    //Function: Size
+    //@return               the number of rectangles in the index
+    public int size() {
+        return size;
+    }
+}
@@ -3,7 +3,9 @@
 //@project Tetris
 //The input class is responsible for rendering and handling interactions with
 //all input objects on the info board. All input objects are stored in this
-//class and is only accessed locally.
+//class and is only accessed locally. The buttons are grouped by the game state
+//they appear in, and are laid out and indexed for the mouse whenever the info
+//board changes size, rather than every time they are painted.
 
 package Input;
 
@@ -13,11 +15,15 @@ import Game.TetrisGame;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.EnumMap;
 
 @SuppressWarnings({"SpellCheckingInspection"})
 public class InfoBoardInput extends JPanel implements PageInput {
 
     private Button[] btns;
+    private EnumMap<GameState, Button[]> pageBtns;
+    private EnumMap<GameState, HitIndex<Button>> pageIndexes;
 
     private double posX;
     private double posY;
@@ -108,6 +114,35 @@ public class InfoBoardInput extends JPanel implements PageInput {
             if (btn.getID().equals(ButtonID.SOUNDTOGGLE))
                 btn.setVerticalSlide(true);
         }
+        //Group the buttons by the game state they appear in
+        pageBtns = new EnumMap<>(GameState.class);
+        pageIndexes = new EnumMap<>(GameState.class);
+        for (GameState state : GameState.values()) {
+            ArrayList<Button> page = new ArrayList<>();
+            for (Button btn : btns)
+                if (btn.getBtnPageState().equals(state)) page.add(btn);
+            pageBtns.put(state, page.toArray(new Button[0]));
+            pageIndexes.put(state, new HitIndex<>());
+        }
+        layoutButtons();
+    }
+
+    //----------------------------ASSIST FUNCTION-----------------------------//
+    //Function: Layout Buttons
+    //Moves the buttons which slide to their place on the info board, and
+    //indexes the buttons of each game state by where they now are
+    private void layoutButtons() {
+
+        for (GameState state : GameState.values()) {
+            HitIndex<Button> index = pageIndexes.get(state);
+            index.clear();
+            for (Button btn : pageBtns.get(state)) {
+                btn.posFromLeft(20, this);
+                if (btn.isVerticalSlide()) btn.posFromBottom(50, this);
+                index.add(btn, btn.getBtnX(), btn.getBtnY(),
+                        btn.getBtnWidth(), btn.getBtnHeight());
+            }
+        }
     }
 
     //-----------------------------MISC FUNCTIONS-----------------------------//
@@ -131,12 +166,12 @@ public class InfoBoardInput extends JPanel implements PageInput {
     //       offsetY        the width of the window border at the top
     //       action         the action of the mouse: [hover/click/release]
     //Relays the position and action of the mouse to be handled by the mouse
-    //action handler
+    //action handler, along with the buttons of the current game state
     public void mouseAction(double mousePosX, double mousePosY,
                             double offsetX, double offsetY,
                             MouseAction action) {
         mouseActionHandler.mouseAction(mousePosX, mousePosY, offsetX, offsetY,
-                action, btns);
+                action, pageIndexes.get(TetrisGame.getGameState()), btns);
     }
 
     //Function: Set Dimensions
@@ -151,6 +186,7 @@ public class InfoBoardInput extends JPanel implements PageInput {
         this.posY = posY;
         this.height = height;
         this.width = width;
+        if (btns != null) layoutButtons();
     }
 
     //UNUSED
@@ -192,11 +228,7 @@ public class InfoBoardInput extends JPanel implements PageInput {
     //Renders the buttons which are to be displayed for the current game state
     @Override
     public void paint(Graphics g) {
-        for (Button btn : btns)
-            if (btn.getBtnPageState().equals(TetrisGame.getGameState())) {
-                btn.posFromLeft(20, this);
-                if (btn.isVerticalSlide()) btn.posFromBottom(50, this);
-                btn.paint(g);
-            }
+        for (Button btn : pageBtns.get(TetrisGame.getGameState()))
+            btn.paint(g);
     }
 }
@@ -8,6 +8,7 @@
 package Pages;
 
 import Game.MouseAction;
+import Style.Theme;
 
 import javax.swing.*;
 import java.awt.*;
@@ -69,15 +70,16 @@ public class AboutScreen extends JPanel {
     @Override
     public void paint(Graphics g) {
 
+        Theme theme = Theme.getTheme();
         double renderPosY = 80;
         textTitle.setDimensions(posX, posY + renderPosY, width);
-        g.setColor(new Color(114, 114, 114));
-        g.setFont(new Font("Arial", Font.BOLD, 40));
+        g.setColor(theme.getTextColor());
+        g.setFont(theme.getTitleFont());
         textTitle.paint(g);
 
         renderPosY += textTitle.getHeight() + 50;
         textBody.setDimensions(posX, posY + renderPosY, width);
-        g.setFont(new Font("Arial", Font.BOLD, 27));
+        g.setFont(theme.getBodyFont());
         textBody.paint(g);
     }
 
@@ -6,6 +6,8 @@
 
 package Pages;
 
+import Style.Theme;
+
 import javax.swing.*;
 import java.awt.*;
 
@@ -54,19 +56,20 @@ public class DisclaimerScreen extends JPanel {
     @Override
     public void paint(Graphics g) {
 
-        g.setColor(new Color(0, 0, 0, 200));
+        Theme theme = Theme.getTheme();
+        g.setColor(theme.getBackdropColor());
         g.fillRect((int)posX, (int)posY, (int)width + 300,
                 (int)height + 300);
 
         double renderPosY = 80;
-        g.setColor(new Color(255, 255, 255));
-        g.setFont(new Font("Arial", Font.BOLD, 40));
+        g.setColor(theme.getOverlayTextColor());
+        g.setFont(theme.getTitleFont());
         textTitle.setDimensions(posX, posY + renderPosY, width);
         textTitle.paint(g);
 
         renderPosY += textTitle.getHeight() + 50;
         textBody.setDimensions(posX, posY + renderPosY, width);
-        g.setFont(new Font("Arial", Font.BOLD, 27));
+        g.setFont(theme.getBodyFont());
         textBody.paint(g);
 
         /*g.setColor(new Color(0, 0, 0, 200));
@@ -6,6 +6,8 @@
 
 package Pages;
 
+import Style.Theme;
+
 import javax.swing.*;
 import java.awt.*;
 
@@ -48,15 +50,16 @@ public class OptionsScreen extends JPanel {
     @Override
     public void paint(Graphics g) {
 
+        Theme theme = Theme.getTheme();
         double renderPosY = 80;
-        g.setColor(new Color(114, 114, 114));
-        g.setFont(new Font("Arial", Font.BOLD, 40));
+        g.setColor(theme.getTextColor());
+        g.setFont(theme.getTitleFont());
         textTitle.setDimensions(posX, posY + renderPosY, width);
         textTitle.paint(g);
 
         renderPosY += textTitle.getHeight() + 50;
         textBody.setDimensions(posX, posY + renderPosY, width);
-        g.setFont(new Font("Arial", Font.BOLD, 27));
+        g.setFont(theme.getBodyFont());
         textBody.paint(g);
     }
 }
@@ -0,0 +1,138 @@
+//------------------------------RICH TEXT CLASS-------------------------------//
+//@author Titanjack
+//@project Tetris
+//The Rich Text class is text which has been parsed from markup once, into the
+//plain text to be displayed and the spans of it which are links. A span is
+//recorded as the index of its first character, the index after its last
+//character and the address it links to. Spans are in the order they appear in
+//the text. Once parsed, rich text never changes, so it can be kept and shared
+//for as long as the markup stays the same.
+
+package Pages;
+
+import java.util.ArrayList;
+
+@SuppressWarnings({"WeakerAccess"})
+public class RichText {
+
+    private String markup;
+    private String text;
+    private int[] spanBegins;
+    private int[] spanEnds;
+    private String[] addresses;
+
+    private RichText(String markup, String text, int[] spanBegins,
+                     int[] spanEnds, String[] addresses) {
+
+        this.markup = markup;
+        this.text = text;
+        this.spanBegins = spanBegins;
+        this.spanEnds = spanEnds;
+        this.addresses = addresses;
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public static RichText parse(String markup)
+
+    //Function: Parse
+    //@param markup         the text with embedded link tags, in the form
+    //                      <a url='address'>text</a>
+    //@return               the plain text and the spans of it which are links
+    //Tags without an address or without any text are removed along with the
+    //text inside them, and text after the last complete tag is kept as is
+    public static RichText parse(String markup) {
+
+        StringBuilder text = new StringBuilder(markup.length());
+        ArrayList<Integer> begins = new ArrayList<>();
+        ArrayList<Integer> ends = new ArrayList<>();
+        ArrayList<String> addresses = new ArrayList<>();
+        int start = 0;
+        int openIndex = markup.indexOf("<a");
+        int closeIndex = markup.indexOf("</a>");
+        //Opening and closing tag exists
+        while (closeIndex > openIndex && openIndex >= 0) {
+            text.append(markup, start, openIndex);
+            //Find end of opening tag
+            int tagEnd = markup.indexOf('>', openIndex + 2);
+            if (tagEnd >= 0 && tagEnd < closeIndex) {
+                //Find address specified by the attributes
+                int addressStart = markup.indexOf("url='", openIndex + 2);
+                int addressEnd = markup.lastIndexOf('\'', tagEnd - 1);
+                if (addressStart >= tagEnd) addressStart = -1;
+                //Records the text surrounded by the hyperlink tag
+                if (addressStart >= 0 && addressEnd >= addressStart + 5 &&
+                        tagEnd < closeIndex - 1) {
+                    begins.add(text.length());
+                    text.append(markup, tagEnd + 1, closeIndex);
+                    ends.add(text.length());
+                    addresses.add(markup.substring(addressStart + 5,
+                            addressEnd));
+                }
+            }
+            start = closeIndex + 4;
+            openIndex = markup.indexOf("<a", start);
+            closeIndex = markup.indexOf("</a>", start);
+        }
+        text.append(markup, start, markup.length());
+
+        int[] spanBegins = new int[begins.size()];
+        int[] spanEnds = new int[ends.size()];
+        for (int i = 0; i < spanBegins.length; i++) {
+            spanBegins[i] = begins.get(i);
+            spanEnds[i] = ends.get(i);
+        }
+        return new RichText(markup, text.toString(), spanBegins, spanEnds,
+                addresses.toArray(new String[0]));
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public String getMarkup()
+    //public String getText()
+    //public int getSpanCount()
+    //public int getSpanBegin(int span)
+    //public int getSpanEnd(int span)
+    //public String getAddress(int span)
+
+    //Function: Get Markup
+    //@return               the markup the text was parsed from
+    public String getMarkup() {
+        return markup;
+    }
+
+    //Function: Get Text
+    //@return               the text to be displayed, without any tags
+    public String getText() {
+        return text;
+    }
+
+    //Function: Get Span Count
+    //@return               the number of links in the text
+    public int getSpanCount() {
+        return addresses.length;
+    }
+
+    //Function: Get Span Begin
+    //@param span           the index of the link
+    //@return               the index in the text of the first character of the
+    //                      link
+    public int getSpanBegin(int span) {
+        return spanBegins[span];
+    }
+
+    //Function: Get Span End
+    //@param span           the index of the link
+    //@return               the index in the text just after the last character
+    //                      of the link
+    public int getSpanEnd(int span) {
+        return spanEnds[span];
+    }
+
+    //Function: Get Address
+    //@param span           the index of the link
+    //@return               the address the link points to
+    public String getAddress(int span) {
+        return addresses[span];
+    }
+}
@@ -2,13 +2,20 @@
 //@author Titanjack
 //@project Tetris
 //The Text Field is an object which renders text to the screen. It has advanced
-//features such as responsive text wrap and hyperlink embedding.
+//features such as responsive text wrap and hyperlink embedding. The wrapped
+//lines, the parts of each line shown as links and the link bounds are worked
+//out once and kept until the text, the font or the dimensions change, so a
+//paint only draws the lines. The markup is parsed once into rich text, and
+//the link rectangles are kept in an index for finding the link under the
+//mouse.
 
 package Pages;
 
 import Game.MouseAction;
 import Input.Link;
+import Input.HitIndex;
 import Input.MouseActionHandler;
+import Style.Theme;
 
 import javax.swing.*;
 import java.awt.*;
@@ -23,9 +30,19 @@ public class TextField extends JPanel {
     private double width;
     private double height;
     private boolean freeHeight;
+    private RichText document;
     private String text;
     private String[] wrappedText;
+    //The text of each line split where links begin and end, with every odd
+    //section being part of a link, and the x offset of each section
+    private String[][] lineSections;
+    private int[][] sectionOffsets;
+    private int[] lineWidths;
+    private Font layoutFont;
+    private double layoutWidth;
+    private boolean linksPlaced;
     private ArrayList<Link> links;
+    private HitIndex<Link> linkIndex;
     private MouseActionHandler mouseActionHandler;
 
     public TextField(double posX, double posY, double width,
@@ -46,9 +63,34 @@ public class TextField extends JPanel {
 
     //-----------------------------CORE FUNCTIONS-----------------------------//
     //FUNCTION LIST:
+    //private void layout(Graphics g)
     //private String[] wrapText(String text, double maxWidth, Graphics g)
-    //private String parseLinks(String text)
+    //private void parseLinks(RichText document)
     //private void findLinkCoordinates(Graphics g)
+    //private void findLineSections(Graphics g)
+    //private void indexLinks()
+
+    //Function: Layout
+    //@param g              the graphics component, with the font to be used
+    //Wraps the text again if the text, font or width has changed since it was
+    //last wrapped, and moves the links if the text field has moved
+    private void layout(Graphics g) {
+
+        Font font = g.getFont();
+        if (wrappedText == null || layoutWidth != width ||
+                !font.equals(layoutFont)) {
+            wrappedText = wrapText(text, width * 0.8, g);
+            findLineSections(g);
+            layoutFont = font;
+            layoutWidth = width;
+            linksPlaced = false;
+        }
+        if (!linksPlaced) {
+            findLinkCoordinates(g);
+            indexLinks();
+            linksPlaced = true;
+        }
+    }
 
     //Function: Wrap Text
     //@param text           the text to be wrapped
@@ -94,55 +136,14 @@ public class TextField extends JPanel {
     }
 
     //Function: Parse Links
-    //@param text           the string to be parsed for links
-    //@return               the text in plain form without the link tags
-    //Finds all instances of the link tag embedded into the text and records
-    //them. Then remove the tags from the text and return it
-    private String parseLinks(String text) {
+    //@param document       the parsed text
+    //Creates a link for each link span of the text
+    private void parseLinks(RichText document) {
 
         links = new ArrayList<>();
-        String parsedText = "";
-        int openIndex = text.indexOf("<a"), closeIndex = text.indexOf("</a>");
-        //Opening and closing tag exists
-        while (closeIndex > openIndex && openIndex >= 0) {
-            //Crops out the closing tag and opening tag, but leaves the
-            //attributes of the opening tag (url='') in
-            String linkTag = text.substring(openIndex + 2, closeIndex);
-            parsedText = parsedText.concat(text.substring(0, openIndex));
-
-            //Find end of opening tag
-            if (linkTag.contains(">")) {
-                String beginTag = linkTag.substring(0, linkTag.indexOf(">"));
-                String address = null;
-                //Find address specified by the attributes
-                int addressStartIndex = beginTag.indexOf("url='");
-                int addressEndIndex = beginTag.lastIndexOf("'");
-                if (addressEndIndex > addressStartIndex && addressStartIndex
-                        >= 0) {
-                    address = beginTag.substring(addressStartIndex + 5,
-                            addressEndIndex);
-                }
-
-                //Find text surrounded by the hyperlink tag
-                int textStartIndex = linkTag.indexOf(">");
-                if (textStartIndex >= 0 && textStartIndex <
-                        linkTag.length() - 1 && address != null) {
-                    //Records the beginning and ending index of the text
-                    links.add(new Link(address, parsedText.length(),
-                            parsedText.length() + linkTag.length() -
-                            textStartIndex - 1));
-                    //Removes the tags from the text, leaving just the text
-                    //that was inside the tag
-                    parsedText = parsedText.concat(linkTag.substring(
-                            textStartIndex + 1));
-                }
-            }
-            text = text.substring(closeIndex + 4);
-            openIndex = text.indexOf("<a");
-            closeIndex = text.indexOf("</a>");
-        }
-        parsedText += text;
-        return parsedText;
+        for (int i = 0; i < document.getSpanCount(); i++)
+            links.add(new Link(document.getAddress(i),
+                    document.getSpanBegin(i), document.getSpanEnd(i)));
     }
 
     //Function: Find Link Coordinates
@@ -192,6 +193,88 @@ public class TextField extends JPanel {
         }
     }
 
+    //Function: Index Links
+    //Adds the rectangles of every placed link to the link index
+    private void indexLinks() {
+
+        if (linkIndex == null) linkIndex = new HitIndex<>();
+        linkIndex.clear();
+        for (Link link: links)
+            if (link.getLinkBounds() != null)
+                for (double[] coords: link.getLinkBounds())
+                    linkIndex.add(link, coords[0], coords[1], coords[2],
+                            coords[3]);
+    }
+
+    //Function: Find Line Sections
+    //@param g              the graphics component
+    //Splits each wrapped line where links begin and end, and measures the
+    //line and the offset of each section from the start of the line
+    private void findLineSections(Graphics g) {
+
+        FontMetrics metrics = g.getFontMetrics();
+        lineSections = new String[wrappedText.length][];
+        sectionOffsets = new int[wrappedText.length][];
+        lineWidths = new int[wrappedText.length];
+        int numOfChars = 0;
+        for (int i = 0; i < wrappedText.length; i++) {
+            ArrayList<Integer> colorSection = new ArrayList<>();
+            for (Link link: links) {
+                int beginIndex = link.getBeginIndex();
+                int endIndex = link.getEndIndex();
+                //If the link begins before or on this line
+                if (numOfChars + wrappedText[i].length() >= beginIndex) {
+                    //If the link ends after this line (not before or on)
+                    if (numOfChars + wrappedText[i].length() < endIndex) {
+                        //If the link begins on this line
+                        if (beginIndex >= numOfChars) {
+                            colorSection.add(beginIndex - numOfChars);
+                        } else {
+                            colorSection.add(0);
+                        }
+                        colorSection.add(wrappedText[i].length());
+                    //If the link ends on this line
+                    } else if (numOfChars < endIndex) {
+                        colorSection.add(beginIndex - numOfChars);
+                    }
+                }
+                //If the link ends on this line
+                if (numOfChars + wrappedText[i].length() >= endIndex &&
+                        endIndex >= numOfChars) {
+                    colorSection.add(endIndex - numOfChars);
+                }
+            }
+
+            Collections.sort(colorSection);
+            //How text will be rendered:
+            //If no colorSection indices on this line, display normal text
+            //If colorSection has indices: 0, length of line
+            //      whole line displayed as link
+            //If colorSection has indices 2 5
+            //      from 0 to 2 display normal text, 2 to 5 display link,
+            //      5 to end of line display normal text
+            //Only an even size has a closing index for every opening index
+            if (colorSection.size() % 2 != 0) colorSection.clear();
+            String[] sections = new String[colorSection.size() + 1];
+            int[] offsets = new int[colorSection.size() + 1];
+            int lastIndex = 0;
+            int offset = 0;
+            for (int j = 0; j < sections.length; j++) {
+                int index = j < colorSection.size() ? colorSection.get(j) :
+                        wrappedText[i].length();
+                sections[j] = wrappedText[i].substring(lastIndex, index);
+                offsets[j] = offset;
+                offset += metrics.stringWidth(sections[j]);
+                lastIndex = index;
+            }
+            lineSections[i] = sections;
+            sectionOffsets[i] = offsets;
+            lineWidths[i] = metrics.stringWidth(wrappedText[i]);
+            numOfChars += wrappedText[i].length();
+            numOfChars++;
+        }
+    }
+
     //----------------------------UTILITY FUNCTION----------------------------//
     //Function: Remove Consecutive
     //@param str            the string to perform the operation on
@@ -200,10 +283,20 @@ public class TextField extends JPanel {
     //@return               the string with all instances of consecutive text
     //                      specified removed
     private String removeConsecutive(String str, String find) {
-        if (str.length() < find.length() * 2) return str;
-        if (str.substring(0, find.length() * 2).equals(find + find))
-            return removeConsecutive(str.substring(find.length()), find);
-        return str.charAt(0) + removeConsecutive(str.substring(1), find);
+
+        StringBuilder result = new StringBuilder(str.length());
+        int index = 0;
+        while (index < str.length()) {
+            //Only the last of a run of occurrences is kept
+            if (str.startsWith(find, index) && str.startsWith(find, index +
+                    find.length())) {
+                index += find.length();
+            } else {
+                result.append(str.charAt(index));
+                index++;
+            }
+        }
+        return result.toString();
     }
 
     //-----------------------------MISC FUNCTIONS-----------------------------//
@@ -227,8 +320,9 @@ public class TextField extends JPanel {
     //action handler
     public void mouseAction(double mousePosX, double mousePosY, double offsetX,
                             double offsetY, MouseAction action) {
-        mouseActionHandler.mouseAction(mousePosX, mousePosY, offsetX, offsetY,
-                action, links);
+        if (linkIndex != null)
+            mouseActionHandler.mouseAction(mousePosX, mousePosY, offsetX,
+                    offsetY, action, linkIndex);
     }
 
     //Function: Set Text
@@ -237,8 +331,12 @@ public class TextField extends JPanel {
     //Checks the text for hyperlink tags before setting text to the plain text
     //version
     public void setText(String text) {
-        if (this.text == null || !this.text.equals(text)) {
-            this.text = parseLinks(text);
+        if (document == null || !document.getMarkup().equals(text)) {
+            document = RichText.parse(text);
+            this.text = document.getText();
+            parseLinks(document);
+            wrappedText = null;
+            linkIndex = null;
         }
     }
 
@@ -247,9 +345,12 @@ public class TextField extends JPanel {
     //       posY           new y position
     //       width          new width
     //       height         new height
-    //Updates the position and the size of the text field
+    //Updates the position and the size of the text field. The links are only
+    //moved if the text field has actually moved or changed width.
     public void setDimensions(double posX, double posY, double width,
                               double height) {
+        if (posX != this.posX || posY != this.posY || width != this.width)
+            linksPlaced = false;
         freeHeight = false;
         this.posX = posX;
         this.posY = posY;
@@ -285,82 +386,26 @@ public class TextField extends JPanel {
     //different color
     public void paint(Graphics g) {
 
-        wrappedText = wrapText(text, width * 0.8, g);
-        findLinkCoordinates(g);
+        layout(g);
         Color textColor = g.getColor();
+        Color linkColor = Theme.getTheme().getLinkColor();
+        int textHeight = g.getFontMetrics().getHeight();
 
-        int numOfChars = 0;
         for (int i = 0; i < wrappedText.length; i++) {
-            if (freeHeight || i * g.getFontMetrics().getHeight() < height) {
-                ArrayList<Integer> colorSection = new ArrayList<>();
-                for (Link link: links) {
-                    int beginIndex = link.getBeginIndex();
-                    int endIndex = link.getEndIndex();
-                    //If the link begins before or on this line
-                    if (numOfChars + wrappedText[i].length() >= beginIndex) {
-                        //If the link ends after this line (not before or on)
-                        if (numOfChars + wrappedText[i].length() <
-                                endIndex) {
-                            //If the link begins on this line
-                            if (beginIndex >= numOfChars) {
-                                colorSection.add(beginIndex - numOfChars);
-                            } else {
-                                colorSection.add(0);
-                            }
-                            colorSection.add(wrappedText[i].length());
-                        //If the link ends on this line
-                        } else if (numOfChars < endIndex) {
-                            colorSection.add(beginIndex - numOfChars);
-                        }
-                    }
-                    //If the link ends on this line
-                    if (numOfChars + wrappedText[i].length() >= endIndex &&
-                            endIndex >= numOfChars) {
-                            colorSection.add(endIndex - numOfChars);
-                    }
-                }
-
-                Collections.sort(colorSection);
-                //How text will be rendered:
-                //If no colorSection indices on this line, display normal text
-                //If colorSection has indices: 0, length of line
-                //      whole line displayed as link
-                //If colorSection has indices 2 5
-                //      from 0 to 2 display normal text, 2 to 5 display link,
-                //      5 to end of line display normal text
-                int textWidth = g.getFontMetrics().stringWidth(wrappedText[i]);
-                int textHeight = g.getFontMetrics().getHeight();
-                int textPosX = (int) (posX - textWidth / 2.0 + width / 2);
+            if (freeHeight || i * textHeight < height) {
+                int textPosX = (int) (posX - lineWidths[i] / 2.0 + width / 2);
                 int textPosY = (int) posY + i * (textHeight + 10);
-                //Even size so every opening index has a closing index
-                if (colorSection.size() != 0 && colorSection.size() % 2 == 0) {
-                    int lastIndex = 0;
-                    boolean colorText = false;
-                    for (int index: colorSection) {
-                        if (index != 0) {
-                            g.setColor(colorText ? new Color(0, 0, 0) :
-                                    textColor);
-                            g.drawString(wrappedText[i].substring(lastIndex,
-                                    index), textPosX, textPosY);
-                            textPosX += g.getFontMetrics().stringWidth(
-                                    wrappedText[i].substring(lastIndex, index));
-                            lastIndex = index;
-                        }
-                        //Toggle colors
-                        colorText = !colorText;
-                    }
-                    g.setColor(textColor);
-                    if (lastIndex != wrappedText[i].length())
-                        g.drawString(wrappedText[i].substring(lastIndex),
-                                textPosX, textPosY);
-                } else {
-                    g.setColor(textColor);
-                    g.drawString(wrappedText[i], textPosX, textPosY);
+                String[] sections = lineSections[i];
+                for (int j = 0; j < sections.length; j++) {
+                    if (sections[j].length() == 0) continue;
+                    //Sections alternate between normal text and link text
+                    g.setColor(j % 2 == 1 ? linkColor : textColor);
+                    g.drawString(sections[j], textPosX + sectionOffsets[i][j],
+                            textPosY);
                 }
             }
-            numOfChars += wrappedText[i].length();
-            numOfChars++;
         }
+        g.setColor(textColor);
 
         for (Link link: links) {
             link.paint(g);
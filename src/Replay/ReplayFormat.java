@@ -0,0 +1,40 @@
+//-----------------------------REPLAY FORMAT CLASS----------------------------//
+//@author Titanjack
+//@project Tetris
+//The Replay Format class holds the layout shared by the replay writer and
+//reader. A replay starts with a header holding everything needed to start the
+//same game again: the rules version, the size of the board, the randomizer
+//and the seed. It is followed by one record per command, each a single varint
+//holding the number of ticks since the previous record and the opcode of the
+//command. The last record uses the end opcode and brings the count up to the
+//tick the game was stopped on.
+//Every so often a keyframe record is written instead, followed by the length
+//of a game snapshot and the snapshot itself, taken at the end of that tick.
+//After the end record comes an index of the keyframes, holding the tick and
+//the position in the file of each one, and the file finishes with the
+//position of the index and a second magic number. A reader can then jump to
+//the keyframe closest to any tick without reading anything before it.
+
+package Replay;
+
+import Grid.BitGrid;
+
+@SuppressWarnings({"WeakerAccess"})
+public class ReplayFormat {
+
+    //The first bytes of every replay file, "TRPL"
+    public static final int MAGIC = 0x5452504C;
+    //The low bits of each record hold the opcode, the rest the tick delta
+    public static final int OPCODE_BITS = 4;
+    public static final int OPCODE_MASK = (1 << OPCODE_BITS) - 1;
+    public static final int END_OPCODE = OPCODE_MASK;
+    public static final int KEYFRAME_OPCODE = OPCODE_MASK - 1;
+    //The last bytes of every replay file, "TRIX", after the index position
+    public static final int INDEX_MAGIC = 0x54524958;
+    public static final int TRAILER_SIZE = 12;
+    //The board sizes a replay can hold. A piece spawns across the top four
+    //rows and the middle four columns, and each row is held in a single long.
+    public static final int MIN_BOARD_SIZE = 4;
+    public static final int MAX_ROWS = 1024;
+    public static final int MAX_COLS = BitGrid.MAX_COLS;
+}
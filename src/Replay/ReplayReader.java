@@ -0,0 +1,368 @@
+//-----------------------------REPLAY READER CLASS----------------------------//
+//@author Titanjack
+//@project Tetris
+//The Replay Reader class reads a replay back one record at a time, so a
+//replay of any length can be played without loading the whole file. The
+//header is read as soon as the reader is created, after which the records
+//can either be stepped through with next or fed straight into an engine.
+//Keyframes are skipped over while reading. When the replay is read from a
+//file, the reader can also seek to any tick by loading the closest keyframe
+//before it and playing only the ticks after the keyframe.
+
+package Replay;
+
+import Game.Command;
+import Game.GameEngine;
+import Game.GameSnapshot;
+import Game.RandomizerType;
+import Util.VarInt;
+
+import java.io.*;
+
+@SuppressWarnings({"WeakerAccess"})
+public class ReplayReader implements Closeable {
+
+    private static final Command[] commands = Command.values();
+
+    private File file;
+    private DataInputStream in;
+    private int rulesVersion;
+    private int rows;
+    private int cols;
+    private RandomizerType randomizerType;
+    private int undoDepth;
+    private long seed;
+    private long headerLength;
+    private long tick;
+    private Command command;
+    private boolean ended;
+    private boolean recordPending;
+    private long[] keyframeTicks;
+    private long[] keyframeOffsets;
+    private GameSnapshot snapshot;
+
+    public ReplayReader(File file) throws IOException {
+
+        this.file = file;
+        FileInputStream stream = new FileInputStream(file);
+        try {
+            readHeader(stream);
+        } catch (IOException | RuntimeException e) {
+            stream.close();
+            throw e;
+        }
+    }
+
+    public ReplayReader(InputStream in) throws IOException {
+        readHeader(in);
+    }
+
+    //----------------------------UTILITY FUNCTION----------------------------//
+    //Function: Read Header
+    //@param in             the stream the replay is read from
+    //Reads the header of the replay and gets ready to read the first record
+    private void readHeader(InputStream in) throws IOException {
+
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        if (this.in.readInt() != ReplayFormat.MAGIC)
+            throw new IOException("Not a replay file");
+        rulesVersion = (int) VarInt.readVarLong(this.in);
+        long rowCount = VarInt.readVarLong(this.in);
+        long colCount = VarInt.readVarLong(this.in);
+        if (rowCount < ReplayFormat.MIN_BOARD_SIZE ||
+                rowCount > ReplayFormat.MAX_ROWS ||
+                colCount < ReplayFormat.MIN_BOARD_SIZE ||
+                colCount > ReplayFormat.MAX_COLS)
+            throw new IOException("Board size in replay is out of range");
+        rows = (int) rowCount;
+        cols = (int) colCount;
+        long randomizer = VarInt.readVarLong(this.in);
+        if (randomizer < 0 || randomizer >= RandomizerType.values().length)
+            throw new IOException("Unknown randomizer in replay");
+        randomizerType = RandomizerType.values()[(int) randomizer];
+        undoDepth = (int) VarInt.readVarLong(this.in);
+        seed = this.in.readLong();
+        headerLength = 4 + VarInt.getVarLongSize(rulesVersion) +
+                VarInt.getVarLongSize(rows) +
+                VarInt.getVarLongSize(cols) +
+                VarInt.getVarLongSize(randomizer) +
+                VarInt.getVarLongSize(undoDepth) + 8;
+        tick = 0;
+        ended = false;
+        recordPending = false;
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public boolean next()
+    //public GameEngine createEngine()
+    //public void play(GameEngine engine)
+    //public void playTo(GameEngine engine, long targetTick)
+    //public void seek(GameEngine engine, long targetTick)
+    //public void close()
+    //private void readIndex()
+    //private boolean hasIndex(RandomAccessFile indexFile, long length)
+
+    //Function: Next
+    //@return               whether another command was read, or false once
+    //                      the end of the replay has been reached
+    //Reads the next command record, skipping any keyframes. The tick and
+    //command of the record can then be read with getTick and getCommand.
+    public boolean next() throws IOException {
+
+        while (!ended) {
+            long record = VarInt.readVarLong(in);
+            int opcode = (int) (record & ReplayFormat.OPCODE_MASK);
+            tick += record >>> ReplayFormat.OPCODE_BITS;
+            if (opcode == ReplayFormat.END_OPCODE) {
+                ended = true;
+                command = null;
+            } else if (opcode == ReplayFormat.KEYFRAME_OPCODE) {
+                long length = VarInt.readVarLong(in);
+                while (length > 0) {
+                    long skipped = in.skip(length);
+                    //Skip gives up at the end of the stream, where reading
+                    //a byte reports the error instead
+                    if (skipped <= 0) {
+                        in.readByte();
+                        skipped = 1;
+                    }
+                    length -= skipped;
+                }
+            } else {
+                if (opcode >= commands.length)
+                    throw new IOException("Unknown command in replay");
+                command = commands[opcode];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //Function: Create Engine
+    //@return               a new engine with the board size, randomizer and
+    //                      undo depth the replay was recorded with
+    public GameEngine createEngine() {
+
+        GameEngine engine = new GameEngine(rows, cols);
+        engine.setRandomizerType(randomizerType);
+        engine.setUndoDepth(undoDepth);
+        return engine;
+    }
+
+    //Function: Play
+    //@param engine         the engine the replay is played on, which should
+    //                      come from createEngine
+    //Starts a new game with the seed of the replay and plays every remaining
+    //record, up to the tick the replay was stopped on
+    public void play(GameEngine engine) throws IOException {
+
+        if (rulesVersion != GameEngine.RULES_VERSION)
+            throw new IOException("Replay was recorded with rules version " +
+                    rulesVersion);
+        engine.newGame(seed);
+        playTo(engine, Long.MAX_VALUE);
+    }
+
+    //Function: Play To
+    //@param engine         the engine the replay is being played on
+    //       targetTick     the tick the engine is to be brought up to
+    //Feeds the engine the records up to the target tick. Each command is
+    //queued so it is applied on the same tick it was recorded on, and the
+    //engine is ticked up to the target, or to the end of the replay if that
+    //comes first.
+    public void playTo(GameEngine engine, long targetTick) throws IOException {
+
+        while (recordPending || next()) {
+            recordPending = true;
+            if (tick > targetTick) break;
+            while (engine.getTick() < tick - 1)
+                engine.tick();
+            engine.queueCommand(command);
+            recordPending = false;
+        }
+        long lastTick = ended ? Math.min(tick, targetTick) : targetTick;
+        while (engine.getTick() < lastTick)
+            engine.tick();
+    }
+
+    //Function: Seek
+    //@param engine         the engine the replay is played on, which should
+    //                      come from createEngine
+    //       targetTick     the tick to be jumped to
+    //Loads the last keyframe at or before the target tick into the engine and
+    //plays the rest of the way from there. Without a keyframe early enough the
+    //game is started over from the seed. Only a reader opened on a file can
+    //seek.
+    public void seek(GameEngine engine, long targetTick) throws IOException {
+
+        if (file == null)
+            throw new IllegalStateException("Only a replay file can be seeked");
+        if (rulesVersion != GameEngine.RULES_VERSION)
+            throw new IOException("Replay was recorded with rules version " +
+                    rulesVersion);
+        if (keyframeTicks == null) readIndex();
+
+        //Finds the last keyframe at or before the target
+        int low = 0, high = keyframeTicks.length - 1, keyframe = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (keyframeTicks[middle] <= targetTick) {
+                keyframe = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        in.close();
+        FileInputStream fileIn = new FileInputStream(file);
+        fileIn.getChannel().position(keyframe < 0 ? headerLength :
+                keyframeOffsets[keyframe]);
+        in = new DataInputStream(new BufferedInputStream(fileIn));
+        ended = false;
+        recordPending = false;
+        command = null;
+
+        if (keyframe < 0) {
+            tick = 0;
+            engine.newGame(seed);
+        } else {
+            //The tick is taken from the index, so the delta of the keyframe
+            //record and the length of the snapshot are not needed
+            VarInt.readVarLong(in);
+            VarInt.readVarLong(in);
+            tick = keyframeTicks[keyframe];
+            if (snapshot == null) snapshot = new GameSnapshot(rows, cols);
+            snapshot.read(in);
+            engine.loadSnapshot(snapshot);
+        }
+        playTo(engine, targetTick);
+    }
+
+    //Function: Close
+    //Closes the underlying stream
+    public void close() throws IOException {
+        in.close();
+    }
+
+    //Function: Read Index
+    //Reads the keyframe index from the end of the replay file. A file without
+    //an index is treated as having no keyframes. The index is only kept once
+    //all of it has been read and checked, so a broken index is read again,
+    //and fails again, on the next seek.
+    private void readIndex() throws IOException {
+
+        try (RandomAccessFile indexFile = new RandomAccessFile(file, "r")) {
+            long length = indexFile.length();
+            if (length < headerLength + ReplayFormat.TRAILER_SIZE ||
+                    !hasIndex(indexFile, length)) {
+                keyframeTicks = new long[0];
+                keyframeOffsets = new long[0];
+                return;
+            }
+            indexFile.seek(length - ReplayFormat.TRAILER_SIZE);
+            long indexOffset = indexFile.readLong();
+            if (indexOffset < headerLength ||
+                    indexOffset > length - ReplayFormat.TRAILER_SIZE)
+                throw new IOException("Replay index is out of range");
+
+            //Each keyframe takes at least two bytes of the index
+            indexFile.seek(indexOffset);
+            long count = VarInt.readVarLong(indexFile);
+            if (count < 0 || count > (length - indexOffset) / 2)
+                throw new IOException("Replay index has a bad keyframe count");
+            long[] ticks = new long[(int) count];
+            long[] offsets = new long[(int) count];
+            for (int i = 0; i < count; i++) {
+                ticks[i] = VarInt.readVarLong(indexFile);
+                offsets[i] = VarInt.readVarLong(indexFile);
+                if (i > 0 && ticks[i] < ticks[i - 1])
+                    throw new IOException("Replay index is out of order");
+                if (offsets[i] < headerLength || offsets[i] > indexOffset)
+                    throw new IOException("Replay keyframe is out of range");
+            }
+            keyframeTicks = ticks;
+            keyframeOffsets = offsets;
+        }
+    }
+
+    //Function: Has Index
+    //@param indexFile      the replay file
+    //       length         the length of the file
+    //@return               whether the file ends with the magic number of an
+    //                      index
+    private boolean hasIndex(RandomAccessFile indexFile, long length)
+            throws IOException {
+
+        indexFile.seek(length - 4);
+        return indexFile.readInt() == ReplayFormat.INDEX_MAGIC;
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public int getRulesVersion()
+    //public int getRows()
+    //public int getCols()
+    //public RandomizerType getRandomizerType()
+    //public int getUndoDepth()
+    //public long getSeed()
+    //public long getTick()
+    //public Command getCommand()
+    //public boolean isEnded()
+
+    //Function: Get Rules Version
+    //@return               the rules version the replay was recorded with
+    public int getRulesVersion() {
+        return rulesVersion;
+    }
+
+    //Function: Get Rows
+    //@return               the number of rows of the recorded board
+    public int getRows() {
+        return rows;
+    }
+
+    //Function: Get Cols
+    //@return               the number of columns of the recorded board
+    public int getCols() {
+        return cols;
+    }
+
+    //Function: Get Randomizer Type
+    //@return               the scheme the pieces of the game were picked by
+    public RandomizerType getRandomizerType() {
+        return randomizerType;
+    }
+
+    //Function: Get Undo Depth
+    //@return               the number of pieces the game could be rewound by
+    public int getUndoDepth() {
+        return undoDepth;
+    }
+
+    //Function: Get Seed
+    //@return               the seed the game was started with
+    public long getSeed() {
+        return seed;
+    }
+
+    //Function: Get Tick
+    //@return               the tick of the last record read
+    public long getTick() {
+        return tick;
+    }
+
+    //Function: Get Command
+    //@return               the command of the last record read, or null at
+    //                      the end of the replay
+    public Command getCommand() {
+        return command;
+    }
+
+    //Function: Is Ended
+    //@return               whether the end of the replay has been read
+    public boolean isEnded() {
+        return ended;
+    }
+}
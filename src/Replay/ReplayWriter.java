@@ -0,0 +1,178 @@
+//-----------------------------REPLAY WRITER CLASS----------------------------//
+//@author Titanjack
+//@project Tetris
+//The Replay Writer class records a game as it is played. It is attached to a
+//game engine as its command recorder right after a new game is started, and
+//writes every command the engine applies to the stream as it happens. A
+//keyframe holding a snapshot of the game is written every so many ticks, and
+//the index of the keyframes is written when the writer is closed. A game with
+//undo turned on is written without keyframes, as a keyframe cannot hold the
+//pieces which can still be undone.
+
+package Replay;
+
+import Game.Command;
+import Game.CommandRecorder;
+import Game.GameEngine;
+import Game.GameSnapshot;
+import Util.VarInt;
+
+import java.io.*;
+
+@SuppressWarnings({"WeakerAccess"})
+public class ReplayWriter implements CommandRecorder, Closeable {
+
+    //One keyframe a minute at sixty ticks a second
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 3600;
+
+    private GameEngine engine;
+    private DataOutputStream out;
+    private long lastTick;
+    private int keyframeInterval;
+    private long lastKeyframeTick;
+    private int keyframeCount;
+    private long[] keyframeTicks;
+    private long[] keyframeOffsets;
+    private GameSnapshot snapshot;
+    private ByteArrayOutputStream snapshotBuffer;
+    private DataOutputStream snapshotOut;
+
+    public ReplayWriter(OutputStream out, GameEngine engine)
+            throws IOException {
+        this(out, engine, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    public ReplayWriter(OutputStream out, GameEngine engine,
+                        int keyframeInterval) throws IOException {
+
+        this.engine = engine;
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.keyframeInterval = keyframeInterval;
+        lastTick = engine.getTick();
+        lastKeyframeTick = lastTick;
+        keyframeCount = 0;
+        keyframeTicks = new long[16];
+        keyframeOffsets = new long[16];
+        writeHeader();
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public void commandApplied(long tick, Command command)
+    //public void tickFinished(long tick)
+    //public void close()
+    //private void writeHeader()
+    //private void writeRecord(long tick, int opcode)
+    //private void writeKeyframe(long tick)
+    //private void writeIndex()
+
+    //Function: Command Applied
+    //@param tick           the tick the command was applied on
+    //       command        the command which was applied
+    public void commandApplied(long tick, Command command) {
+
+        try {
+            writeRecord(tick, command.ordinal());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //Function: Tick Finished
+    //@param tick           the tick whose commands have all been applied
+    //Writes a keyframe once enough ticks have passed since the last one
+    public void tickFinished(long tick) {
+
+        if (keyframeInterval <= 0 || engine.getUndoDepth() > 0 ||
+                tick - lastKeyframeTick < keyframeInterval)
+            return;
+        try {
+            writeKeyframe(tick);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //Function: Close
+    //Writes the end of the replay at the current tick of the engine, followed
+    //by the keyframe index, and closes the stream. The engine stops recording
+    //to this writer.
+    public void close() throws IOException {
+
+        engine.setRecorder(null);
+        writeRecord(engine.getTick(), ReplayFormat.END_OPCODE);
+        writeIndex();
+        out.close();
+    }
+
+    //Function: Write Header
+    //Writes the settings the game was started with
+    private void writeHeader() throws IOException {
+
+        out.writeInt(ReplayFormat.MAGIC);
+        VarInt.writeVarLong(out, GameEngine.RULES_VERSION);
+        VarInt.writeVarLong(out, engine.getRows());
+        VarInt.writeVarLong(out, engine.getCols());
+        VarInt.writeVarLong(out, engine.getRandomizerType().ordinal());
+        VarInt.writeVarLong(out, engine.getUndoDepth());
+        out.writeLong(engine.getSeed());
+    }
+
+    //Function: Write Record
+    //@param tick           the tick the record belongs to
+    //       opcode         the opcode of the record
+    private void writeRecord(long tick, int opcode) throws IOException {
+
+        VarInt.writeVarLong(out, ((tick - lastTick) <<
+                ReplayFormat.OPCODE_BITS) | opcode);
+        lastTick = tick;
+    }
+
+    //Function: Write Keyframe
+    //@param tick           the tick the keyframe is taken on
+    //Writes a snapshot of the game and remembers where it is for the index
+    private void writeKeyframe(long tick) throws IOException {
+
+        if (snapshot == null) {
+            snapshot = new GameSnapshot(engine.getRows(), engine.getCols());
+            snapshotBuffer = new ByteArrayOutputStream();
+            snapshotOut = new DataOutputStream(snapshotBuffer);
+        }
+        engine.saveSnapshot(snapshot);
+        snapshotBuffer.reset();
+        snapshot.write(snapshotOut);
+
+        if (keyframeCount == keyframeTicks.length) {
+            long[] grownTicks = new long[keyframeCount * 2];
+            long[] grownOffsets = new long[keyframeCount * 2];
+            System.arraycopy(keyframeTicks, 0, grownTicks, 0, keyframeCount);
+            System.arraycopy(keyframeOffsets, 0, grownOffsets, 0,
+                    keyframeCount);
+            keyframeTicks = grownTicks;
+            keyframeOffsets = grownOffsets;
+        }
+        keyframeTicks[keyframeCount] = tick;
+        keyframeOffsets[keyframeCount] = out.size();
+        keyframeCount++;
+
+        writeRecord(tick, ReplayFormat.KEYFRAME_OPCODE);
+        VarInt.writeVarLong(out, snapshotBuffer.size());
+        snapshotBuffer.writeTo(out);
+        lastKeyframeTick = tick;
+    }
+
+    //Function: Write Index
+    //Writes the tick and position of every keyframe, then the position of the
+    //index itself so it can be found from the end of the file
+    private void writeIndex() throws IOException {
+
+        long indexOffset = out.size();
+        VarInt.writeVarLong(out, keyframeCount);
+        for (int i = 0; i < keyframeCount; i++) {
+            VarInt.writeVarLong(out, keyframeTicks[i]);
+            VarInt.writeVarLong(out, keyframeOffsets[i]);
+        }
+        out.writeLong(indexOffset);
+        out.writeInt(ReplayFormat.INDEX_MAGIC);
+    }
+}
@@ -0,0 +1,23 @@
+//------------------------------AGENT INTERFACE-------------------------------//
+//@author Titanjack
+//@project Tetris
+//The Agent interface is implemented by anything that plays the game without a
+//player. A single agent is shared by every game of a simulation run, so it
+//must not keep any state of its own between calls; any randomness has to come
+//from the generator it is given, which belongs to the game being played.
+
+package Simulation;
+
+import Game.GameEngine;
+
+import java.util.SplittableRandom;
+
+public interface Agent {
+
+    //Function: Play
+    //@param engine         the game being played, with a piece in play
+    //       random         the random number generator of the game
+    //Queues the commands for the active piece on the engine. The engine is
+    //ticked after every call.
+    void play(GameEngine engine, SplittableRandom random);
+}
@@ -0,0 +1,6 @@
+package Simulation;
+
+//The reasons a simulated game can come to an end
+public enum EndCause {
+    BLOCK_OUT, PIECE_LIMIT
+}
@@ -0,0 +1,83 @@
+//------------------------------GAME RESULT CLASS-----------------------------//
+//@author Titanjack
+//@project Tetris
+//The Game Result class records how a single simulated game went. Results are
+//created once the game has ended and are never changed afterwards.
+
+package Simulation;
+
+@SuppressWarnings({"WeakerAccess"})
+public class GameResult {
+
+    private long seed;
+    private int linesCleared;
+    private int score;
+    private int piecesPlaced;
+    private long ticks;
+    private long duration;
+    private EndCause endCause;
+
+    public GameResult(long seed, int linesCleared, int score, int piecesPlaced,
+                      long ticks, long duration, EndCause endCause) {
+
+        this.seed = seed;
+        this.linesCleared = linesCleared;
+        this.score = score;
+        this.piecesPlaced = piecesPlaced;
+        this.ticks = ticks;
+        this.duration = duration;
+        this.endCause = endCause;
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public long getSeed()
+    //public int getLinesCleared()
+    //public int getScore()
+    //public int getPiecesPlaced()
+    //public long getTicks()
+    //public long getDuration()
+    //public EndCause getEndCause()
+
+    //Function: Get Seed
+    //@return               the seed the game was played with
+    public long getSeed() {
+        return seed;
+    }
+
+    //Function: Get Lines Cleared
+    //@return               the number of lines cleared in the game
+    public int getLinesCleared() {
+        return linesCleared;
+    }
+
+    //Function: Get Score
+    //@return               the final score of the game
+    public int getScore() {
+        return score;
+    }
+
+    //Function: Get Pieces Placed
+    //@return               the number of pieces locked in the game
+    public int getPiecesPlaced() {
+        return piecesPlaced;
+    }
+
+    //Function: Get Ticks
+    //@return               the number of logic ticks the game lasted
+    public long getTicks() {
+        return ticks;
+    }
+
+    //Function: Get Duration
+    //@return               the time taken to play the game, in nanoseconds
+    public long getDuration() {
+        return duration;
+    }
+
+    //Function: Get End Cause
+    //@return               the reason the game came to an end
+    public EndCause getEndCause() {
+        return endCause;
+    }
+}
@@ -0,0 +1,32 @@
+//------------------------------RANDOM AGENT CLASS----------------------------//
+//@author Titanjack
+//@project Tetris
+//The Random Agent class plays the game by rotating and moving every piece a
+//random amount before hard dropping it. It is the baseline other agents are
+//measured against.
+
+package Simulation;
+
+import Game.Command;
+import Game.GameEngine;
+
+import java.util.SplittableRandom;
+
+@SuppressWarnings({"WeakerAccess"})
+public class RandomAgent implements Agent {
+
+    //Function: Play
+    //@param engine         the game being played, with a piece in play
+    //       random         the random number generator of the game
+    public void play(GameEngine engine, SplittableRandom random) {
+
+        int turns = random.nextInt(4);
+        for (int i = 0; i < turns; i++)
+            engine.queueCommand(Command.ROTATE_CW);
+        int shift = random.nextInt(engine.getCols()) - engine.getCols() / 2;
+        Command direction = shift < 0 ? Command.LEFT : Command.RIGHT;
+        for (int i = 0; i < Math.abs(shift); i++)
+            engine.queueCommand(direction);
+        engine.queueCommand(Command.HARD_DROP);
+    }
+}
@@ -0,0 +1,166 @@
+//---------------------------SIMULATION RUNNER CLASS--------------------------//
+//@author Titanjack
+//@project Tetris
+//The Simulation Runner class plays a batch of games without a window, spread
+//over every core with a work stealing pool. Each game has its own engine, its
+//own piece queue and its own random number generator, all seeded from the
+//seed of the run and the index of the game. The same seed therefore always
+//gives the same results, no matter how many threads the games are played on.
+
+package Simulation;
+
+import Game.GameEngine;
+import Game.RandomizerType;
+import Util.SplitMix;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+@SuppressWarnings({"WeakerAccess"})
+public class SimulationRunner {
+
+    //Games are split between threads in batches no smaller than this
+    private static final int BATCH_SIZE = 16;
+    //Keeps the generator of the agent apart from the piece queue of a game
+    private static final long AGENT_SALT = 0x5DEECE66DL;
+
+    private int rows;
+    private int cols;
+    private int maxPieces;
+    private Agent agent;
+    private RandomizerType randomizerType;
+
+    public SimulationRunner(int rows, int cols, int maxPieces, Agent agent) {
+
+        this.rows = rows;
+        this.cols = cols;
+        this.maxPieces = maxPieces;
+        this.agent = agent;
+        randomizerType = RandomizerType.DUAL_BAG;
+    }
+
+    public static void main(String[] args) {
+
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) :
+                Runtime.getRuntime().availableProcessors();
+        int maxPieces = args.length > 3 ? Integer.parseInt(args[3]) : 100000;
+
+        SimulationRunner runner = new SimulationRunner(20, 10, maxPieces,
+                new RandomAgent());
+        System.out.print(runner.run(seed, games, threads));
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public SimulationSummary run(long seed, int games, int threads)
+    //public GameResult[] playGames(long seed, int games, int threads)
+    //public GameResult playGame(long seed)
+    //public static long getGameSeed(long seed, int index)
+    //public void setRandomizerType(RandomizerType randomizerType)
+
+    //Function: Run
+    //@param seed           the seed of the run
+    //       games          the number of games to be played
+    //       threads        the number of threads to play the games on
+    //@return               the combined results of every game
+    public SimulationSummary run(long seed, int games, int threads) {
+
+        long startTime = System.nanoTime();
+        GameResult[] results = playGames(seed, games, threads);
+        return new SimulationSummary(results, System.nanoTime() - startTime);
+    }
+
+    //Function: Play Games
+    //@param seed           the seed of the run
+    //       games          the number of games to be played
+    //       threads        the number of threads to play the games on
+    //@return               the result of each game, in the order of the games
+    public GameResult[] playGames(long seed, int games, int threads) {
+
+        GameResult[] results = new GameResult[games];
+        ForkJoinPool pool = new ForkJoinPool(Math.max(threads, 1));
+        try {
+            pool.invoke(new GameBatch(seed, results, 0, games));
+        } finally {
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    //Function: Play Game
+    //@param seed           the seed of the game
+    //@return               the result of the game
+    //Plays a single game until the agent tops out or the piece limit is hit.
+    //Every tick applies the commands of the agent and then advances the
+    //timers, so the only other input the piece gets is gravity.
+    public GameResult playGame(long seed) {
+
+        long startTime = System.nanoTime();
+        GameEngine engine = new GameEngine(rows, cols);
+        SplittableRandom random = new SplittableRandom(SplitMix.mix(seed ^
+                AGENT_SALT));
+        engine.setRandomizerType(randomizerType);
+        engine.newGame(seed);
+        while (!engine.isGameOver() && engine.getPiecesPlaced() < maxPieces) {
+            agent.play(engine, random);
+            engine.tick();
+        }
+        EndCause endCause = engine.isGameOver() ? EndCause.BLOCK_OUT :
+                EndCause.PIECE_LIMIT;
+        return new GameResult(seed, engine.getLinesCleared(),
+                engine.getScore(), engine.getPiecesPlaced(), engine.getTick(),
+                System.nanoTime() - startTime, endCause);
+    }
+
+    //Function: Get Game Seed
+    //@param seed           the seed of the run
+    //       index          the index of the game within the run
+    //@return               the seed of the game
+    public static long getGameSeed(long seed, int index) {
+        return SplitMix.mix(seed + (index + 1) * 0x9E3779B97F4A7C15L);
+    }
+
+    //Function: Set Randomizer Type
+    //@param randomizerType the scheme used to pick the order of the pieces in
+    //                      every game of the run
+    public void setRandomizerType(RandomizerType randomizerType) {
+        this.randomizerType = randomizerType;
+    }
+
+    //------------------------------GAME BATCH CLASS--------------------------//
+    //Plays a range of games, splitting the range in half until it is small
+    //enough to be played on one thread. Each result is stored at the index of
+    //its game, so the order of the results never depends on the scheduling.
+    private class GameBatch extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private long seed;
+        private GameResult[] results;
+        private int start;
+        private int end;
+
+        GameBatch(long seed, GameResult[] results, int start, int end) {
+
+            this.seed = seed;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        protected void compute() {
+
+            if (end - start <= BATCH_SIZE) {
+                for (int index = start; index < end; index++)
+                    results[index] = playGame(getGameSeed(seed, index));
+            } else {
+                int middle = (start + end) >>> 1;
+                invokeAll(new GameBatch(seed, results, start, middle),
+                        new GameBatch(seed, results, middle, end));
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+//--------------------------SIMULATION SUMMARY CLASS--------------------------//
+//@author Titanjack
+//@project Tetris
+//The Simulation Summary class adds up the results of a simulation run. The
+//results are always added in the order of the games, so the totals of a run
+//do not depend on how many threads it was played on.
+
+package Simulation;
+
+@SuppressWarnings({"WeakerAccess"})
+public class SimulationSummary {
+
+    private int games;
+    private long linesCleared;
+    private long score;
+    private long piecesPlaced;
+    private long ticks;
+    private long gameTime;
+    private long wallTime;
+    private int maxLinesCleared;
+    private int maxScore;
+    private int[] endCauses;
+
+    public SimulationSummary(GameResult[] results, long wallTime) {
+
+        this.wallTime = wallTime;
+        endCauses = new int[EndCause.values().length];
+        for (GameResult result : results) {
+            games++;
+            linesCleared += result.getLinesCleared();
+            score += result.getScore();
+            piecesPlaced += result.getPiecesPlaced();
+            ticks += result.getTicks();
+            gameTime += result.getDuration();
+            maxLinesCleared = Math.max(maxLinesCleared,
+                    result.getLinesCleared());
+            maxScore = Math.max(maxScore, result.getScore());
+            endCauses[result.getEndCause().ordinal()]++;
+        }
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public int getGames()
+    //public long getLinesCleared()
+    //public long getScore()
+    //public long getPiecesPlaced()
+    //public long getTicks()
+    //public long getGameTime()
+    //public long getWallTime()
+    //public int getMaxLinesCleared()
+    //public int getMaxScore()
+    //public int getEndCauseCount(EndCause endCause)
+    //public String toString()
+
+    //Function: Get Games
+    //@return               the number of games played
+    public int getGames() {
+        return games;
+    }
+
+    //Function: Get Lines Cleared
+    //@return               the total number of lines cleared
+    public long getLinesCleared() {
+        return linesCleared;
+    }
+
+    //Function: Get Score
+    //@return               the total score of all games
+    public long getScore() {
+        return score;
+    }
+
+    //Function: Get Pieces Placed
+    //@return               the total number of pieces locked
+    public long getPiecesPlaced() {
+        return piecesPlaced;
+    }
+
+    //Function: Get Ticks
+    //@return               the total number of logic ticks played
+    public long getTicks() {
+        return ticks;
+    }
+
+    //Function: Get Game Time
+    //@return               the time spent playing summed over every game, in
+    //                      nanoseconds
+    public long getGameTime() {
+        return gameTime;
+    }
+
+    //Function: Get Wall Time
+    //@return               the time the whole run took, in nanoseconds
+    public long getWallTime() {
+        return wallTime;
+    }
+
+    //Function: Get Max Lines Cleared
+    //@return               the most lines cleared in a single game
+    public int getMaxLinesCleared() {
+        return maxLinesCleared;
+    }
+
+    //Function: Get Max Score
+    //@return               the highest score of a single game
+    public int getMaxScore() {
+        return maxScore;
+    }
+
+    //Function: Get End Cause Count
+    //@param endCause       the reason for a game ending
+    //@return               the number of games which ended for that reason
+    public int getEndCauseCount(EndCause endCause) {
+        return endCauses[endCause.ordinal()];
+    }
+
+    //Function: To String
+    //@return               a readable report of the run
+    public String toString() {
+
+        double perGame = Math.max(games, 1);
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Games: %d  Wall time: %.2fs  " +
+                "Games per second: %.1f%n", games, wallTime / 1e9,
+                games / Math.max(wallTime / 1e9, 1e-9)));
+        report.append(String.format("Lines: %d (%.2f per game, best %d)%n",
+                linesCleared, linesCleared / perGame, maxLinesCleared));
+        report.append(String.format("Score: %d (%.2f per game, best %d)%n",
+                score, score / perGame, maxScore));
+        report.append(String.format("Pieces: %d (%.2f per game)  Ticks: %d%n",
+                piecesPlaced, piecesPlaced / perGame, ticks));
+        for (EndCause endCause : EndCause.values())
+            report.append(String.format("%s: %d%n", endCause,
+                    endCauses[endCause.ordinal()]));
+        return report.toString();
+    }
+}
@@ -0,0 +1,193 @@
+//-------------------------TRANSPOSITION CACHE CLASS--------------------------//
+//@author Titanjack
+//@project Tetris
+//The Transposition Cache class remembers the evaluations of positions already
+//seen by a search, so a board reached again through another branch or in
+//another game is not evaluated twice. A position is keyed by the hash of its
+//board together with the active piece, the held piece and the preview. The
+//cache has a fixed number of entries, grouped into small buckets, and a full
+//bucket gives up the entry which has not been used since it was last passed
+//over. The buckets are guarded by a set of locks, so the cache can be shared
+//by every thread of a simulation run.
+
+package Simulation;
+
+import Game.GameEngine;
+import Game.PiecePreview;
+import Game.PieceType;
+import Game.Tetromino;
+import Util.SplitMix;
+
+import java.util.concurrent.atomic.LongAdder;
+
+@SuppressWarnings({"WeakerAccess", "unchecked"})
+public class TranspositionCache<V> {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    //The number of entries in each bucket
+    private static final int WAYS = 4;
+    private static final int LOCKS = 64;
+
+    private int bucketMask;
+    private long[] keys;
+    private Object[] values;
+    //Set when an entry is used, and cleared when an eviction passes over it
+    private boolean[] used;
+    private Object[] locks;
+    private LongAdder hits;
+    private LongAdder misses;
+    private LongAdder evictions;
+
+    public TranspositionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TranspositionCache(int capacity) {
+
+        //The number of buckets is rounded up to a power of two
+        int buckets = Integer.highestOneBit(Math.max(1, (capacity + WAYS -
+                1) / WAYS) * 2 - 1);
+        bucketMask = buckets - 1;
+        keys = new long[buckets * WAYS];
+        values = new Object[buckets * WAYS];
+        used = new boolean[buckets * WAYS];
+        locks = new Object[LOCKS];
+        for (int i = 0; i < LOCKS; i++)
+            locks[i] = new Object();
+        hits = new LongAdder();
+        misses = new LongAdder();
+        evictions = new LongAdder();
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public V get(long key)
+    //public void put(long key, V value)
+    //public void clear()
+    //public static long getPositionKey(GameEngine engine)
+
+    //Function: Get
+    //@param key            the key of the position
+    //@return               the stored evaluation, or null if the position is
+    //                      not in the cache
+    public V get(long key) {
+
+        int bucket = (int) (key >>> 32 ^ key) & bucketMask;
+        int start = bucket * WAYS;
+        synchronized (locks[bucket & (LOCKS - 1)]) {
+            for (int i = start; i < start + WAYS; i++) {
+                if (values[i] != null && keys[i] == key) {
+                    used[i] = true;
+                    hits.increment();
+                    return (V) values[i];
+                }
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    //Function: Put
+    //@param key            the key of the position
+    //       value          the evaluation of the position
+    //Stores an evaluation, replacing any older one of the same position. When
+    //the bucket is full, each entry used since the last eviction is given a
+    //second chance and the first one which was not is evicted.
+    public void put(long key, V value) {
+
+        int bucket = (int) (key >>> 32 ^ key) & bucketMask;
+        int start = bucket * WAYS;
+        synchronized (locks[bucket & (LOCKS - 1)]) {
+            int slot = -1;
+            for (int i = start; i < start + WAYS; i++) {
+                if (values[i] == null) {
+                    if (slot < 0) slot = i;
+                } else if (keys[i] == key) {
+                    slot = i;
+                    break;
+                }
+            }
+            if (slot < 0) {
+                slot = start;
+                for (int i = start; i < start + WAYS; i++) {
+                    if (!used[i]) {
+                        slot = i;
+                        break;
+                    }
+                    used[i] = false;
+                }
+                evictions.increment();
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            used[slot] = false;
+        }
+    }
+
+    //Function: Clear
+    //Removes every entry and resets the counters
+    public void clear() {
+
+        for (int lock = 0; lock < LOCKS; lock++) {
+            synchronized (locks[lock]) {
+                for (int bucket = lock; bucket <= bucketMask; bucket += LOCKS)
+                    for (int i = bucket * WAYS; i < (bucket + 1) * WAYS; i++)
+                        values[i] = null;
+            }
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    //Function: Get Position Key
+    //@param engine         the game whose position is to be keyed
+    //@return               a key made from the board hash, the active piece,
+    //                      the held piece and every piece in the preview
+    public static long getPositionKey(GameEngine engine) {
+
+        long key = engine.getBoard().getHash();
+        Tetromino piece = engine.getCurrentPiece();
+        key = SplitMix.mix(key ^ (piece == null ? 0 :
+                piece.getType().ordinal() + 1));
+        PieceType heldPiece = engine.getHeldPiece();
+        key = SplitMix.mix(key ^ (heldPiece == null ? 0 :
+                heldPiece.ordinal() + 1));
+        PiecePreview preview = engine.getPreview();
+        if (preview != null)
+            for (int i = 0; i < preview.size(); i++)
+                key = SplitMix.mix(key ^ (preview.peek(i).ordinal() + 1));
+        return key;
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public int getCapacity()
+    //public long getHits()
+    //public long getMisses()
+    //public long getEvictions()
+
+    //Function: Get Capacity
+    //@return               the most entries the cache can hold
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    //Function: Get Hits
+    //@return               the number of lookups which found an evaluation
+    public long getHits() {
+        return hits.sum();
+    }
+
+    //Function: Get Misses
+    //@return               the number of lookups which found nothing
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    //Function: Get Evictions
+    //@return               the number of entries given up to make room
+    public long getEvictions() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,230 @@
+//--------------------------------THEME CLASS---------------------------------//
+//@author Titanjack
+//@project Tetris
+//The Theme class holds the colors, fonts and strokes used to draw the game.
+//Each one is created once, when the theme is made, and every component paints
+//with the shared objects of the current theme instead of creating its own each
+//time it paints. The font metrics of each font are also looked up once and
+//kept. A theme is made for a font family and a scale factor, which every font
+//size is multiplied by. Strokes stay at their width in pixels, as the grid
+//cells are laid out around them. Switching themes only swaps which set of
+//objects is current.
+
+package Style;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.IdentityHashMap;
+
+@SuppressWarnings({"WeakerAccess"})
+public class Theme {
+
+    public static final Theme DEFAULT = new Theme("Arial", 1);
+
+    private static Theme current = DEFAULT;
+
+    private double scale;
+    private Color textColor;
+    private Color overlayTextColor;
+    private Color linkColor;
+    private Color buttonColor;
+    private Color buttonHoverColor;
+    private Color buttonClickColor;
+    private Color overlayColor;
+    private Color backdropColor;
+    private Color emptyCellColor;
+    private Font logoFont;
+    private Font bannerFont;
+    private Font titleFont;
+    private Font statsFont;
+    private Font bodyFont;
+    private Font overlayFont;
+    private BasicStroke outlineStroke;
+    private BasicStroke defaultStroke;
+    private IdentityHashMap<Font, FontMetrics> metrics;
+
+    public Theme(String fontName, double scale) {
+
+        this.scale = scale;
+        textColor = new Color(114, 114, 114);
+        overlayTextColor = new Color(255, 255, 255);
+        linkColor = new Color(0, 0, 0);
+        buttonColor = new Color(209, 209, 209);
+        buttonHoverColor = new Color(177, 177, 177);
+        buttonClickColor = new Color(147, 147, 147);
+        overlayColor = new Color(70, 70, 70, 176);
+        backdropColor = new Color(0, 0, 0, 200);
+        emptyCellColor = new Color(219, 219, 219, 255);
+        bannerFont = new Font(fontName, Font.BOLD, scale(70));
+        logoFont = new Font(fontName, Font.BOLD, scale(50));
+        titleFont = new Font(fontName, Font.BOLD, scale(40));
+        statsFont = new Font(fontName, Font.BOLD, scale(35));
+        bodyFont = new Font(fontName, Font.BOLD, scale(27));
+        overlayFont = new Font(Font.MONOSPACED, Font.PLAIN, scale(14));
+        outlineStroke = new BasicStroke(3);
+        defaultStroke = new BasicStroke(1);
+
+        //The metrics are taken from an image, so they are ready before the
+        //window is showing
+        metrics = new IdentityHashMap<>();
+        Graphics2D g = new BufferedImage(1, 1,
+                BufferedImage.TYPE_INT_RGB).createGraphics();
+        for (Font font : new Font[]{bannerFont, logoFont, titleFont,
+                statsFont, bodyFont, overlayFont})
+            metrics.put(font, g.getFontMetrics(font));
+        g.dispose();
+    }
+
+    //----------------------------UTILITY FUNCTION----------------------------//
+    //Function: Scale
+    //@param size           a size at a scale factor of one
+    //@return               the size at the scale factor of the theme, rounded
+    private int scale(int size) {
+        return (int)(size * scale + 0.5);
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public static Theme getTheme()
+    //public static void setTheme(Theme theme)
+    //public FontMetrics getMetrics(Font font)
+
+    //Function: Get Theme
+    //@return               the theme the game is currently drawn with
+    public static Theme getTheme() {
+        return current;
+    }
+
+    //Function: Set Theme
+    //@param theme          the theme to draw the game with from now on
+    public static void setTheme(Theme theme) {
+        current = theme;
+    }
+
+    //Function: Get Metrics
+    //@param font           a font of this theme
+    //@return               the metrics of the font, looked up when the theme
+    //                      was made
+    public FontMetrics getMetrics(Font font) {
+        return metrics.get(font);
+    }
+
+    //-----------------------------MISC FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public double getScale()
+    //public Color getTextColor()
+    //public Color getOverlayTextColor()
+    //public Color getLinkColor()
+    //public Color getButtonColor(boolean hovered, boolean clicked)
+    //public Color getOverlayColor()
+    //public Color getBackdropColor()
+    //public Color getEmptyCellColor()
+    //public Font getBannerFont()
+    //public Font getLogoFont()
+    //public Font getTitleFont()
+    //public Font getStatsFont()
+    //public Font getBodyFont()
+    //public Font getOverlayFont()
+    //public BasicStroke getOutlineStroke()
+    //public BasicStroke getDefaultStroke()
+
+    //Function: Get Scale
+    //@return               the factor every font size of the theme is scaled
+    //                      by
+    public double getScale() {
+        return scale;
+    }
+
+    //Function: Get Text Color
+    //@return               the color of titles, labels and body text
+    public Color getTextColor() {
+        return textColor;
+    }
+
+    //Function: Get Overlay Text Color
+    //@return               the color of text drawn over a dark overlay
+    public Color getOverlayTextColor() {
+        return overlayTextColor;
+    }
+
+    //Function: Get Link Color
+    //@return               the color of links within body text
+    public Color getLinkColor() {
+        return linkColor;
+    }
+
+    //Function: Get Button Color
+    //@param hovered        whether the mouse is over the button
+    //       clicked        whether the button is being clicked
+    //@return               the fill color of a button in that state
+    public Color getButtonColor(boolean hovered, boolean clicked) {
+        return clicked ? buttonClickColor : hovered ? buttonHoverColor :
+                buttonColor;
+    }
+
+    //Function: Get Overlay Color
+    //@return               the translucent color of the game over box
+    public Color getOverlayColor() {
+        return overlayColor;
+    }
+
+    //Function: Get Backdrop Color
+    //@return               the translucent color drawn behind the disclaimer
+    public Color getBackdropColor() {
+        return backdropColor;
+    }
+
+    //Function: Get Empty Cell Color
+    //@return               the color of the outline of an empty grid cell
+    public Color getEmptyCellColor() {
+        return emptyCellColor;
+    }
+
+    //Function: Get Banner Font
+    //@return               the font of the game over banner
+    public Font getBannerFont() {
+        return bannerFont;
+    }
+
+    //Function: Get Logo Font
+    //@return               the font of the logo on the info board
+    public Font getLogoFont() {
+        return logoFont;
+    }
+
+    //Function: Get Title Font
+    //@return               the font of page titles
+    public Font getTitleFont() {
+        return titleFont;
+    }
+
+    //Function: Get Stats Font
+    //@return               the font of the score, level and held piece
+    public Font getStatsFont() {
+        return statsFont;
+    }
+
+    //Function: Get Body Font
+    //@return               the font of body text and buttons
+    public Font getBodyFont() {
+        return bodyFont;
+    }
+
+    //Function: Get Overlay Font
+    //@return               the fixed width font of the performance overlay
+    public Font getOverlayFont() {
+        return overlayFont;
+    }
+
+    //Function: Get Outline Stroke
+    //@return               the stroke of grid cell outlines
+    public BasicStroke getOutlineStroke() {
+        return outlineStroke;
+    }
+
+    //Function: Get Default Stroke
+    //@return               the stroke restored after drawing an outline
+    public BasicStroke getDefaultStroke() {
+        return defaultStroke;
+    }
+}
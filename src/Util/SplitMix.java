@@ -0,0 +1,86 @@
+//--------------------------------SPLIT MIX CLASS-----------------------------//
+//@author Titanjack
+//@project Tetris
+//The Split Mix class is a small seeded random number generator based on the
+//SplitMix64 sequence, the same one used by SplittableRandom. Each randomizer
+//owns one, so picking a piece never waits on a lock shared with other games
+//and never creates any objects. The mixing step of the sequence is also used
+//on its own wherever bits need scrambling, such as the hash keys of the board
+//and the seeds of simulated games, so the class sits apart from both the
+//board and the engine.
+
+package Util;
+
+@SuppressWarnings({"WeakerAccess"})
+public class SplitMix {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public SplitMix(long seed) {
+        state = seed;
+    }
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public long nextLong()
+    //public int nextInt(int bound)
+    //public void shuffle(int[] arr)
+    //public long getState()
+    //public void setState(long state)
+    //public static long mix(long value)
+
+    //Function: Next Long
+    //@return               the next random number in the sequence
+    public long nextLong() {
+
+        state += GOLDEN_GAMMA;
+        return mix(state);
+    }
+
+    //Function: Next Int
+    //@param bound          the upper bound (exclusive) of the number, which
+    //                      must be positive
+    //@return               a random number from 0 up to the bound
+    public int nextInt(int bound) {
+        return (int) (((nextLong() >>> 33) * bound) >>> 31);
+    }
+
+    //Function: Shuffle
+    //@param arr            the array to be shuffled in place
+    //Randomly reorders the array, with every order being equally likely
+    public void shuffle(int[] arr) {
+
+        for (int i = arr.length - 1; i > 0; i--) {
+            int rand = nextInt(i + 1);
+            int temp = arr[i];
+            arr[i] = arr[rand];
+            arr[rand] = temp;
+        }
+    }
+
+    //Function: Get State
+    //@return               the current position in the sequence
+    public long getState() {
+        return state;
+    }
+
+    //Function: Set State
+    //@param state          a position in the sequence from get state
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    //Function: Mix
+    //@param value          the value to be mixed
+    //@return               the value with its bits scrambled by the final step
+    //                      of SplitMix64, so that close values give unrelated
+    //                      results
+    public static long mix(long value) {
+
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,67 @@
+//--------------------------------VAR INT CLASS-------------------------------//
+//@author Titanjack
+//@project Tetris
+//The Var Int class writes and reads numbers as varints, the compact form used
+//by replays and game snapshots. A number is written seven bits at a time,
+//lowest bits first, so small numbers take a single byte. It is kept apart
+//from both so that the engine can write snapshots without depending on the
+//replay package.
+
+package Util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+@SuppressWarnings({"WeakerAccess"})
+public class VarInt {
+
+    //-----------------------------CORE FUNCTIONS-----------------------------//
+    //FUNCTION LIST:
+    //public static void writeVarLong(DataOutput out, long value)
+    //public static long readVarLong(DataInput in)
+    //public static int getVarLongSize(long value)
+
+    //Function: Write Var Long
+    //@param out            the stream to be written to
+    //       value          the value to be written, where small positive
+    //                      values take the fewest bytes
+    //Writes the value seven bits at a time, lowest bits first, with the top
+    //bit of each byte set when more bytes follow
+    public static void writeVarLong(DataOutput out, long value)
+            throws IOException {
+
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    //Function: Read Var Long
+    //@param in             the stream to be read from
+    //@return               the value read from the stream
+    public static long readVarLong(DataInput in) throws IOException {
+
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    //Function: Get Var Long Size
+    //@param value          the value to be written
+    //@return               the number of bytes the value takes as a varint
+    public static int getVarLongSize(long value) {
+
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}